@@ -13,15 +13,24 @@ import dev.hxrry.hxprefix.commands.NickCommand;
 import dev.hxrry.hxprefix.commands.PrefixCommand;
 import dev.hxrry.hxprefix.commands.SuffixCommand;
 import dev.hxrry.hxprefix.config.ConfigManager;
+import dev.hxrry.hxprefix.config.ConfigWatcher;
 import dev.hxrry.hxprefix.database.DatabaseManager;
 import dev.hxrry.hxprefix.database.DataCache;
+import dev.hxrry.hxprefix.database.sync.InvalidationChannel;
+import dev.hxrry.hxprefix.database.sync.PluginMessageInvalidationChannel;
+import dev.hxrry.hxprefix.display.DisplayCache;
 import dev.hxrry.hxprefix.hooks.PlaceholderAPIHook;
 import dev.hxrry.hxprefix.hooks.LuckPermsHook;
 import dev.hxrry.hxprefix.listeners.PlayerListener;
+import dev.hxrry.hxprefix.listeners.StaffNameTracker;
 
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 public class HxPrefix extends JavaPlugin {
     private static HxPrefix instance;
     
@@ -29,6 +38,9 @@ public class HxPrefix extends JavaPlugin {
     private ConfigManager configManager;
     private DatabaseManager databaseManager;
     private DataCache dataCache;
+    private DisplayCache displayCache;
+    private ConfigWatcher configWatcher;
+    private StaffNameTracker staffNames;
     private HxCore core;
     
     // Hooks
@@ -75,10 +87,20 @@ public class HxPrefix extends JavaPlugin {
             }
             
             dataCache = new DataCache(this, databaseManager);
+            setupSync();
             setupHooks();
             registerPermissions();
             registerCommands();
+            displayCache = new DisplayCache(this);
+            getServer().getPluginManager().registerEvents(displayCache, this);
             getServer().getPluginManager().registerEvents(new PlayerListener(this), this);
+            staffNames = new StaffNameTracker();
+            getServer().getPluginManager().registerEvents(staffNames, this);
+            
+            if (configManager.isFileWatchEnabled()) {
+                configWatcher = new ConfigWatcher(this, configManager.getFileWatchDebounce());
+                configWatcher.start();
+            }
             api = new HxPrefixAPI(this);
 
             if (getConfig().getBoolean("debug", false)) {
@@ -101,6 +123,10 @@ public class HxPrefix extends JavaPlugin {
     public void onDisable() {
         Log.info("Disabling HxPrefix...");
         
+        if (configWatcher != null) {
+            configWatcher.stop();
+        }
+        
         if (placeholderHook != null) {
             placeholderHook.unregister();
         }
@@ -144,6 +170,20 @@ public class HxPrefix extends JavaPlugin {
         }
     }
 
+    private void setupSync() {
+        String type = configManager.getSyncChannel().toLowerCase();
+        InvalidationChannel channel = switch (type) {
+            case "plugin-message" -> new PluginMessageInvalidationChannel(this);
+            case "none" -> null;
+            default -> {
+                Log.warning("Unknown sync.channel '" + type + "' - cross-server sync disabled");
+                yield null;
+            }
+        };
+        
+        dataCache.setInvalidationChannel(channel);
+    }
+
     private void registerCommands() {
         new ColourCommand(this).register(this);
         new NickCommand(this).register(this);
@@ -169,46 +209,93 @@ public class HxPrefix extends JavaPlugin {
     
     private void postStartup() {
         // Load all online players into cache
-        getServer().getOnlinePlayers().forEach(player -> {
-            dataCache.loadPlayer(player.getUniqueId());
-        });
+        dataCache.loadPlayers(getOnlinePlayerIds())
+            .thenRun(() -> Log.info("Loaded " + dataCache.getCacheSize() + " players into cache"))
+            .exceptionally(e -> {
+                Log.error("Failed to load online players - they load on demand instead", e);
+                return null;
+            });
         
         // Show stats
-        Log.info("Loaded " + dataCache.getCacheSize() + " players into cache");
         Log.info("Available colours: " + configManager.getStyleConfig().getColourCount());
         Log.info("Available prefixes: " + configManager.getStyleConfig().getPrefixCount());
         Log.info("Available suffixes: " + configManager.getStyleConfig().getSuffixCount());
     }
     
+    private List<UUID> getOnlinePlayerIds() {
+        return getServer().getOnlinePlayers().stream()
+            .map(player -> player.getUniqueId())
+            .toList();
+    }
+    
     // Component getters
     public static HxPrefix getInstance() { return instance; }
     public ConfigManager getConfigManager() { return configManager; }
     public DatabaseManager getDatabaseManager() { return databaseManager; }
     public DataCache getDataCache() { return dataCache; }
+    public DisplayCache getDisplayCache() { return displayCache; }
+    public StaffNameTracker getStaffNames() { return staffNames; }
     public LuckPermsHook getLuckPermsHook() { return luckPermsHook; }
+    public PlaceholderAPIHook getPlaceholderHook() { return placeholderHook; }
     public HxPrefixAPI getAPI() { return api; }
     @NotNull public HxCore getCore() { return core; }
     
-    public void reload() {
-        Log.info("Reloading HxPrefix configuration...");
-        
-        if (dataCache != null) {
-            dataCache.saveAll();
+    /**
+     * drop everything rendered from config, so it's rebuilt with the new settings
+     */
+    public void invalidateRenderCaches() {
+        if (displayCache != null) {
+            displayCache.invalidateAll();
+        }
+        if (placeholderHook != null) {
+            placeholderHook.invalidateAll();
         }
+    }
+    
+    /**
+     * reload config, messages and styles
+     * 
+     * player data is left alone - only caches rendered from config are dropped
+     */
+    public void reloadConfiguration() {
+        Log.info("Reloading HxPrefix configuration...");
         
-        // Reload configs
         configManager.loadAll();
         
-        // Clear and rebuild cache
-        dataCache.clearCache();
-
-        
-        
-        // Update all online players
-        getServer().getOnlinePlayers().forEach(player -> {
-            dataCache.loadPlayer(player.getUniqueId());
-        });
+        // styles may have changed - rebuild display names on next use
+        invalidateRenderCaches();
         
         Log.info("Configuration reloaded successfully!");
     }
-}
\ No newline at end of file
+    
+    /**
+     * write pending player data, then reload every online player from the database
+     * 
+     * the writes and reads run on the I/O executor. players whose changes
+     * couldn't be written keep their cached copy rather than losing it
+     * 
+     * @return future completed with the outcome
+     */
+    @NotNull
+    public CompletableFuture<DataReload> reloadData() {
+        Log.info("Reloading HxPrefix player data...");
+        
+        List<UUID> online = getOnlinePlayerIds();
+        return dataCache.getIoExecutor().supply(() -> {
+            int unsaved = dataCache.saveAll();
+            dataCache.clearCache();
+            return unsaved;
+        }).thenCompose(unsaved -> dataCache.loadPlayers(online).thenApply(loaded -> {
+            Log.info("Reloaded data for " + loaded.size() + " players");
+            return new DataReload(loaded.size(), unsaved);
+        }));
+    }
+    
+    /**
+     * result of reloadData
+     * 
+     * @param loaded players loaded from the database
+     * @param unsaved players whose changes couldn't be written yet and were kept in memory
+     */
+    public record DataReload(int loaded, int unsaved) {}
+}
@@ -5,6 +5,8 @@ import dev.hxrry.hxprefix.api.events.*;
 import dev.hxrry.hxprefix.api.models.PlayerCustomization;
 import dev.hxrry.hxprefix.api.models.StyleOption;
 
+import net.kyori.adventure.text.Component;
+
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
@@ -53,7 +55,7 @@ public class HxPrefixAPI {
      */
     @NotNull
     public CompletableFuture<PlayerCustomization> getPlayerDataAsync(@NotNull UUID uuid) {
-        return CompletableFuture.supplyAsync(() -> getPlayerData(uuid));
+        return plugin.getDataCache().loadPlayer(uuid);
     }
     
     // ===== PREFIX METHODS =====
@@ -74,8 +76,9 @@ public class HxPrefixAPI {
         if (event.isCancelled()) return false;
         
         // Update data
-        data.setPrefix(event.getNewPrefix());
-        plugin.getDataCache().savePlayerData(data);
+        String newPrefix = event.getNewPrefix();
+        plugin.getDataCache().updatePlayerData(player.getUniqueId(), current -> current.withPrefix(newPrefix));
+        invalidateRendered(player);
         
         return true;
     }
@@ -109,8 +112,9 @@ public class HxPrefixAPI {
         if (event.isCancelled()) return false;
         
         // Update data
-        data.setSuffix(event.getNewSuffix());
-        plugin.getDataCache().savePlayerData(data);
+        String newSuffix = event.getNewSuffix();
+        plugin.getDataCache().updatePlayerData(player.getUniqueId(), current -> current.withSuffix(newSuffix));
+        invalidateRendered(player);
         
         return true;
     }
@@ -144,8 +148,9 @@ public class HxPrefixAPI {
         if (event.isCancelled()) return false;
         
         // Update data
-        data.setNameColour(event.getNewColour());
-        plugin.getDataCache().savePlayerData(data);
+        String newNameColour = event.getNewColour();
+        plugin.getDataCache().updatePlayerData(player.getUniqueId(), current -> current.withNameColour(newNameColour));
+        invalidateRendered(player);
         
         return true;
     }
@@ -167,7 +172,7 @@ public class HxPrefixAPI {
      * Set a player's nickname
      * @param player The player
      * @param nickname The nickname (without formatting)
-     * @return true if successful
+     * @return true if set, false if cancelled or (with nickname.unique on) someone else holds it
      */
     public boolean setNickname(@NotNull Player player, @Nullable String nickname) {
         PlayerCustomization data = plugin.getDataCache().getOrCreatePlayerData(player.getUniqueId());
@@ -178,9 +183,13 @@ public class HxPrefixAPI {
         Bukkit.getPluginManager().callEvent(event);
         if (event.isCancelled()) return false;
         
-        // Update data
-        data.setNickname(event.getNewNickname());
-        plugin.getDataCache().savePlayerData(data);
+        // Update data - a nickname someone else holds is refused while nickname.unique is on
+        String newNickname = event.getNewNickname();
+        if (newNickname != null && plugin.getDataCache().isNicknameTaken(newNickname, player.getUniqueId())) {
+            return false;
+        }
+        plugin.getDataCache().updatePlayerData(player.getUniqueId(), current -> current.withNickname(newNickname));
+        invalidateRendered(player);
         
         return true;
     }
@@ -219,15 +228,7 @@ public class HxPrefixAPI {
      */
     @NotNull
     public String getFormattedName(@NotNull Player player) {
-        PlayerCustomization data = getPlayerData(player);
-        String name = getDisplayName(player);
-        
-        if (data != null && data.getNameColour() != null) {
-            return plugin.getConfigManager().getStyleConfig()
-                .formatWithColour(data.getNameColour(), name);
-        }
-        
-        return name;
+        return plugin.getDisplayCache().get(player, getPlayerData(player)).formattedName();
     }
     
     /**
@@ -237,24 +238,17 @@ public class HxPrefixAPI {
      */
     @NotNull
     public String getFullDisplay(@NotNull Player player) {
-        PlayerCustomization data = getPlayerData(player);
-        StringBuilder display = new StringBuilder();
-        
-        if (data != null) {
-            if (data.getPrefix() != null) {
-                display.append(data.getPrefix()).append(" ");
-            }
-            
-            display.append(getFormattedName(player));
-            
-            if (data.getSuffix() != null) {
-                display.append(" ").append(data.getSuffix());
-            }
-        } else {
-            display.append(player.getName());
-        }
-        
-        return display.toString();
+        return plugin.getDisplayCache().get(player, getPlayerData(player)).miniMessage();
+    }
+    
+    /**
+     * Get a player's full display (prefix + name + suffix) as a component
+     * @param player The player
+     * @return The built display component
+     */
+    @NotNull
+    public Component getFullDisplayComponent(@NotNull Player player) {
+        return plugin.getDisplayCache().get(player, getPlayerData(player)).component();
     }
     
     // ===== STYLE OPTIONS METHODS =====
@@ -297,6 +291,16 @@ public class HxPrefixAPI {
     
     // ===== UTILITY METHODS =====
     
+    /**
+     * Drop any pre-rendered output for a player after their data changes
+     * @param player The player
+     */
+    private void invalidateRendered(@NotNull Player player) {
+        if (plugin.getPlaceholderHook() != null) {
+            plugin.getPlaceholderHook().invalidate(player.getUniqueId());
+        }
+    }
+    
     /**
      * Check if a player has permission for a feature
      * @param player The player
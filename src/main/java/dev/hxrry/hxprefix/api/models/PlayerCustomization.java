@@ -3,28 +3,45 @@ package dev.hxrry.hxprefix.api.models;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Objects;
 import java.util.UUID;
 
 /**
  * holds all customization data for a player
+ * 
+ * instances are immutable snapshots - the with* methods return a changed copy,
+ * so readers on any thread always see one consistent state without locking.
+ * each snapshot also carries which fields changed since it was last written
  */
-public class PlayerCustomization {
+public final class PlayerCustomization {
+    
+    // dirty flags - one bit per stored field, set by the with* methods
+    public static final int DIRTY_USERNAME = 1;
+    public static final int DIRTY_NICKNAME = 1 << 1;
+    public static final int DIRTY_NAME_COLOUR = 1 << 2;
+    public static final int DIRTY_PREFIX = 1 << 3;
+    public static final int DIRTY_SUFFIX = 1 << 4;
+    public static final int DIRTY_CUSTOM_TAG = 1 << 5;
+    public static final int DIRTY_NICKNAME_CHANGE = 1 << 6;
+    public static final int DIRTY_ALL = (1 << 7) - 1;
+    
     private final UUID uuid;
-    private String username;
-    private String nickname;
-    private String nameColour;
-    private String prefix;
-    private String suffix;
-    private String customTagRequest; // pending custom tag if any
-    private long lastUpdated;
-    private long lastNicknameChange; // cooldown tracking
-    
-    // constructor for new players
+    private final String username;
+    private final String nickname;
+    private final String nameColour;
+    private final String prefix;
+    private final String suffix;
+    private final String customTagRequest; // pending custom tag if any
+    private final long lastUpdated;
+    private final long lastNicknameChange; // cooldown tracking
+    
+    // fields changed since last written to the database
+    private final int dirty;
+    
+    // constructor for new players - blank and clean, so nothing is stored until a field
+    // actually changes (that first write finds no row and upserts the whole snapshot)
     public PlayerCustomization(@NotNull UUID uuid, @NotNull String username) {
-        this.uuid = uuid;
-        this.username = username;
-        this.lastUpdated = System.currentTimeMillis();
-        this.lastNicknameChange = 0; // never changed
+        this(uuid, username, null, null, null, null, null, System.currentTimeMillis(), 0, 0);
     }
     
     // full constructor for loading from database
@@ -33,6 +50,14 @@ public class PlayerCustomization {
                               @Nullable String prefix, @Nullable String suffix,
                               @Nullable String customTagRequest, long lastUpdated,
                               long lastNicknameChange) {
+        this(uuid, username, nickname, nameColour, prefix, suffix, customTagRequest, lastUpdated, lastNicknameChange, 0);
+    }
+    
+    private PlayerCustomization(@NotNull UUID uuid, @NotNull String username,
+                                @Nullable String nickname, @Nullable String nameColour,
+                                @Nullable String prefix, @Nullable String suffix,
+                                @Nullable String customTagRequest, long lastUpdated,
+                                long lastNicknameChange, int dirty) {
         this.uuid = uuid;
         this.username = username;
         this.nickname = nickname;
@@ -42,6 +67,7 @@ public class PlayerCustomization {
         this.customTagRequest = customTagRequest;
         this.lastUpdated = lastUpdated;
         this.lastNicknameChange = lastNicknameChange;
+        this.dirty = dirty;
     }
     
     // getters
@@ -88,40 +114,100 @@ public class PlayerCustomization {
         return lastNicknameChange;
     }
     
-    // setters - all update the timestamp
-    public void setUsername(@NotNull String username) {
-        this.username = username;
-        this.lastUpdated = System.currentTimeMillis();
+    // copy-on-write updates - a real change bumps the timestamp and marks the field dirty,
+    // an unchanged value returns this same instance
+    @NotNull
+    public PlayerCustomization withUsername(@NotNull String username) {
+        if (username.equals(this.username)) return this;
+        return new PlayerCustomization(uuid, username, nickname, nameColour, prefix, suffix,
+            customTagRequest, System.currentTimeMillis(), lastNicknameChange, dirty | DIRTY_USERNAME);
     }
     
-    public void setNickname(@Nullable String nickname) {
-        this.nickname = nickname;
-        this.lastUpdated = System.currentTimeMillis();
+    @NotNull
+    public PlayerCustomization withNickname(@Nullable String nickname) {
+        if (Objects.equals(nickname, this.nickname)) return this;
+        return new PlayerCustomization(uuid, username, nickname, nameColour, prefix, suffix,
+            customTagRequest, System.currentTimeMillis(), lastNicknameChange, dirty | DIRTY_NICKNAME);
     }
     
-    public void setNameColour(@Nullable String nameColour) {
-        this.nameColour = nameColour;
-        this.lastUpdated = System.currentTimeMillis();
+    @NotNull
+    public PlayerCustomization withNameColour(@Nullable String nameColour) {
+        if (Objects.equals(nameColour, this.nameColour)) return this;
+        return new PlayerCustomization(uuid, username, nickname, nameColour, prefix, suffix,
+            customTagRequest, System.currentTimeMillis(), lastNicknameChange, dirty | DIRTY_NAME_COLOUR);
     }
     
-    public void setPrefix(@Nullable String prefix) {
-        this.prefix = prefix;
-        this.lastUpdated = System.currentTimeMillis();
+    @NotNull
+    public PlayerCustomization withPrefix(@Nullable String prefix) {
+        if (Objects.equals(prefix, this.prefix)) return this;
+        return new PlayerCustomization(uuid, username, nickname, nameColour, prefix, suffix,
+            customTagRequest, System.currentTimeMillis(), lastNicknameChange, dirty | DIRTY_PREFIX);
     }
     
-    public void setSuffix(@Nullable String suffix) {
-        this.suffix = suffix;
-        this.lastUpdated = System.currentTimeMillis();
+    @NotNull
+    public PlayerCustomization withSuffix(@Nullable String suffix) {
+        if (Objects.equals(suffix, this.suffix)) return this;
+        return new PlayerCustomization(uuid, username, nickname, nameColour, prefix, suffix,
+            customTagRequest, System.currentTimeMillis(), lastNicknameChange, dirty | DIRTY_SUFFIX);
     }
     
-    public void setCustomTagRequest(@Nullable String customTagRequest) {
-        this.customTagRequest = customTagRequest;
-        this.lastUpdated = System.currentTimeMillis();
+    @NotNull
+    public PlayerCustomization withCustomTagRequest(@Nullable String customTagRequest) {
+        if (Objects.equals(customTagRequest, this.customTagRequest)) return this;
+        return new PlayerCustomization(uuid, username, nickname, nameColour, prefix, suffix,
+            customTagRequest, System.currentTimeMillis(), lastNicknameChange, dirty | DIRTY_CUSTOM_TAG);
+    }
+    
+    @NotNull
+    public PlayerCustomization withLastNicknameChange(long timestamp) {
+        if (timestamp == this.lastNicknameChange) return this;
+        return new PlayerCustomization(uuid, username, nickname, nameColour, prefix, suffix,
+            customTagRequest, System.currentTimeMillis(), timestamp, dirty | DIRTY_NICKNAME_CHANGE);
     }
     
-    public void setLastNicknameChange(long timestamp) {
-        this.lastNicknameChange = timestamp;
-        this.lastUpdated = System.currentTimeMillis();
+    // dirty tracking
+    
+    /**
+     * check if anything changed since the last write
+     */
+    public boolean isDirty() {
+        return dirty != 0;
+    }
+    
+    /**
+     * get the DIRTY_ flags of fields changed since the last write
+     */
+    public int getDirtyFields() {
+        return dirty;
+    }
+    
+    /**
+     * get this snapshot with the given flags cleared, once those fields are written
+     */
+    @NotNull
+    public PlayerCustomization withClean(int fields) {
+        int remaining = dirty & ~fields;
+        if (remaining == dirty) return this;
+        return new PlayerCustomization(uuid, username, nickname, nameColour, prefix, suffix,
+            customTagRequest, lastUpdated, lastNicknameChange, remaining);
+    }
+    
+    /**
+     * get a stored copy of this player with our unwritten fields kept on top
+     * fields this snapshot hasn't changed take the stored values, the rest stay dirty
+     */
+    @NotNull
+    public PlayerCustomization withStored(@NotNull PlayerCustomization stored) {
+        return new PlayerCustomization(uuid,
+            (dirty & DIRTY_USERNAME) != 0 ? username : stored.username,
+            (dirty & DIRTY_NICKNAME) != 0 ? nickname : stored.nickname,
+            (dirty & DIRTY_NAME_COLOUR) != 0 ? nameColour : stored.nameColour,
+            (dirty & DIRTY_PREFIX) != 0 ? prefix : stored.prefix,
+            (dirty & DIRTY_SUFFIX) != 0 ? suffix : stored.suffix,
+            (dirty & DIRTY_CUSTOM_TAG) != 0 ? customTagRequest : stored.customTagRequest,
+            Math.max(lastUpdated, stored.lastUpdated),
+            (dirty & DIRTY_NICKNAME_CHANGE) != 0 ? lastNicknameChange : stored.lastNicknameChange,
+            dirty);
     }
     
     // utility methods
@@ -185,27 +271,16 @@ public class PlayerCustomization {
     }
     
     /**
-     * clear all customizations (reset to default)
-     */
-    public void clearAll() {
-        this.nickname = null;
-        this.nameColour = null;
-        this.prefix = null;
-        this.suffix = null;
-        this.customTagRequest = null;
-        this.lastUpdated = System.currentTimeMillis();
-        // Note: don't reset lastNicknameChange - cooldown persists
-    }
-    
-    /**
-     * create a copy of this data
+     * get a copy with all customizations cleared (reset to default)
      */
     @NotNull
-    public PlayerCustomization copy() {
-        return new PlayerCustomization(
-            uuid, username, nickname, nameColour, 
-            prefix, suffix, customTagRequest, lastUpdated, lastNicknameChange
-        );
+    public PlayerCustomization cleared() {
+        // Note: don't reset lastNicknameChange - cooldown persists
+        return withNickname(null)
+            .withNameColour(null)
+            .withPrefix(null)
+            .withSuffix(null)
+            .withCustomTagRequest(null);
     }
     
     @Override
@@ -279,9 +354,10 @@ public class PlayerCustomization {
         }
         
         public PlayerCustomization build() {
+            // built data hasn't been stored yet
             return new PlayerCustomization(
                 uuid, username, nickname, nameColour,
-                prefix, suffix, customTagRequest, lastUpdated, lastNicknameChange
+                prefix, suffix, customTagRequest, lastUpdated, lastNicknameChange, DIRTY_ALL
             );
         }
     }
@@ -15,6 +15,7 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 public class AdminCommand extends CommandHelpers {
     
@@ -31,7 +32,11 @@ public class AdminCommand extends CommandHelpers {
 
             .executes(sender -> showHelp(sender))
             
-                .sub("reload", admin, sender -> reloadPlugin(sender))
+                .sub("reload", admin, sender -> reloadConfig(sender))
+                
+                .sub("reloaddata", admin, sender -> reloadData(sender))
+                
+                .sub("stats", admin, sender -> showStats(sender))
                 
                 .sub("info", admin, playerArg,
                     (sender, player) -> showPlayerInfo(sender, player))
@@ -72,6 +77,8 @@ public class AdminCommand extends CommandHelpers {
     private void showHelp(@NotNull CommandSender sender) {
         send(sender, "<gold>==== <white>HxPrefix Admin <gold>====");
         send(sender, "<yellow>/hxprefix reload <gray>- reload configuration");
+        send(sender, "<yellow>/hxprefix reloaddata <gray>- reload online players from the database");
+        send(sender, "<yellow>/hxprefix stats <gray>- cache and database statistics");
         send(sender, "");
         send(sender, "<yellow>/hxprefix setprefix <player> <text> <gray>- set prefix");
         send(sender, "<yellow>/hxprefix setsuffix <player> <text> <gray>- set suffix");
@@ -85,13 +92,13 @@ public class AdminCommand extends CommandHelpers {
     }
     
     /**
-     * Reload the plugin
+     * Reload config files - player data stays cached
      */
-    private void reloadPlugin(@NotNull CommandSender sender) {
+    private void reloadConfig(@NotNull CommandSender sender) {
         send(sender, "<yellow>Reloading HxPrefix configuration...");
         
         try {
-            plugin.reload();
+            plugin.reloadConfiguration();
             sendSuccess(sender, "Configuration reloaded successfully");
             
             // Show stats
@@ -106,6 +113,20 @@ public class AdminCommand extends CommandHelpers {
         }
     }
     
+    /**
+     * Show cache and persistence statistics
+     */
+    private void showStats(@NotNull CommandSender sender) {
+        send(sender, "<gold>==== <white>HxPrefix Stats <gold>====");
+        send(sender, "<gray>" + plugin.getDataCache().getStatistics());
+        send(sender, "<gray>" + plugin.getDataCache().getWriteQueue().getStatistics());
+        send(sender, "<gray>" + plugin.getDataCache().getIoExecutor().getStatistics());
+        send(sender, "<gray>" + plugin.getDatabaseManager().getLoadStatistics());
+        if (plugin.getDataCache().getChangeFeed() != null) {
+            send(sender, "<gray>" + plugin.getDataCache().getChangeFeed().getStatistics());
+        }
+    }
+    
     /**
      * Set player data
      */
@@ -118,26 +139,22 @@ public class AdminCommand extends CommandHelpers {
             return;
         }
         
-        PlayerCustomization data = plugin.getAPI().getPlayerData(target);
-        if (data == null) {
-            data = plugin.getDataCache().getOrCreatePlayerData(target.getUniqueId());
-        }
-        
+        UnaryOperator<PlayerCustomization> change;
         switch (dataType.toLowerCase()) {
             case "prefix" -> {
-                data.setPrefix(value);
+                change = data -> data.withPrefix(value);
                 sendSuccess(sender, "Set prefix for " + playerName + " to: " + value);
             }
             case "suffix" -> {
-                data.setSuffix(value);
+                change = data -> data.withSuffix(value);
                 sendSuccess(sender, "Set suffix for " + playerName + " to: " + value);
             }
             case "nickname" -> {
-                data.setNickname(value);
+                change = data -> data.withNickname(value);
                 sendSuccess(sender, "Set nickname for " + playerName + " to: " + value);
             }
             case "namecolour", "namecolor" -> {
-                data.setNameColour(value);
+                change = data -> data.withNameColour(value);
                 sendSuccess(sender, "Set name colour for " + playerName + " to: " + value);
             }
             default -> {
@@ -147,7 +164,7 @@ public class AdminCommand extends CommandHelpers {
         }
         
         // Save and update
-        plugin.getDataCache().savePlayerData(data);
+        plugin.getDataCache().updatePlayerData(target.getUniqueId(), change);
         
         send(target, "<green>✓ Your " + dataType + " has been updated by an admin");
     }
@@ -170,25 +187,26 @@ public class AdminCommand extends CommandHelpers {
             return;
         }
         
+        UnaryOperator<PlayerCustomization> change;
         switch (dataType.toLowerCase()) {
             case "prefix" -> {
-                data.setPrefix(null);
+                change = current -> current.withPrefix(null);
                 sendSuccess(sender, "Cleared prefix for " + playerName);
             }
             case "suffix" -> {
-                data.setSuffix(null);
+                change = current -> current.withSuffix(null);
                 sendSuccess(sender, "Cleared suffix for " + playerName);
             }
             case "nickname" -> {
-                data.setNickname(null);
+                change = current -> current.withNickname(null);
                 sendSuccess(sender, "Cleared nickname for " + playerName);
             }
             case "namecolour", "namecolor" -> {
-                data.setNameColour(null);
+                change = current -> current.withNameColour(null);
                 sendSuccess(sender, "Cleared name colour for " + playerName);
             }
             case "all" -> {
-                data.clearAll();
+                change = PlayerCustomization::cleared;
                 sendSuccess(sender, "Cleared all customizations for " + playerName);
             }
             default -> {
@@ -198,7 +216,7 @@ public class AdminCommand extends CommandHelpers {
         }
         
         // Save and update
-        plugin.getDataCache().savePlayerData(data);
+        plugin.getDataCache().updatePlayerData(target.getUniqueId(), change);
         
         send(target, "<yellow>⚠ Your " + dataType + " has been cleared by an admin");
     }
@@ -208,6 +226,25 @@ public class AdminCommand extends CommandHelpers {
         return Bukkit.getOnlinePlayers().stream().map(Player::getName).toList();
     }
     
+    /**
+     * Reload online players' data from the database
+     */
+    private void reloadData(@NotNull CommandSender sender) {
+        send(sender, "<yellow>Reloading player data...");
+        
+        plugin.reloadData().whenComplete((result, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (error != null) {
+                sendError(sender, "Failed to reload player data: " + error.getMessage());
+                Log.error("Data reload failed", error);
+                return;
+            }
+            sendSuccess(sender, "Reloaded data for " + result.loaded() + " players");
+            if (result.unsaved() > 0) {
+                sendError(sender, result.unsaved() + " players have changes that couldn't be saved yet - kept in memory and retrying");
+            }
+        }));
+    }
+    
     /**
      * Show player info
      */
@@ -219,11 +256,18 @@ public class AdminCommand extends CommandHelpers {
             return;
         }
         
+        if (plugin.getLuckPermsHook() == null) {
+            sendPlayerInfo(sender, target, "unknown");
+            return;
+        }
+        
+        withPlayerRank(target, rank -> sendPlayerInfo(sender, target, rank));
+    }
+    
+    private void sendPlayerInfo(@NotNull CommandSender sender, @NotNull Player target, @NotNull String rank) {
         PlayerCustomization data = plugin.getAPI().getPlayerData(target);
-        String rank = plugin.getLuckPermsHook() != null ? 
-            plugin.getLuckPermsHook().getPrimaryGroup(target) : "unknown";
         
-        send(sender, "<gold>==== <white>" + playerName + " <gold>====");
+        send(sender, "<gold>==== <white>" + target.getName() + " <gold>====");
         send(sender, "<yellow>Rank: <white>" + rank);
         
         if (data != null) {
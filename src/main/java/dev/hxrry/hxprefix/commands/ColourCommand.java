@@ -59,7 +59,7 @@ public class ColourCommand extends CommandHelpers {
     }
     
     private void openColourMenu(@NotNull Player player) {
-        new ColourSelectionMenu(plugin, player).open();
+        withPlayerRank(player, rank -> new ColourSelectionMenu(plugin, player, rank).open());
     }
     
     private void setColour(@NotNull Player player, @NotNull String colourInput) {
@@ -99,7 +99,8 @@ public class ColourCommand extends CommandHelpers {
         
         // set the colour
         if (plugin.getAPI().setNameColour(player, selected.getValue())) {
-            sendMessage(player, "colour.changed", 
+            // style names come from the style files, so their formatting is kept
+            sendFormattedMessage(player, "colour.changed", 
                 "{colour}", selected.getDisplayName());
         } else {
             sendError(player, "failed to set colour");
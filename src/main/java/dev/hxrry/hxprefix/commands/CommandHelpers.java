@@ -1,16 +1,21 @@
 package dev.hxrry.hxprefix.commands;
 
+import dev.hxrry.hxcore.utils.Log;
+
 import dev.hxrry.hxprefix.HxPrefix;
 import dev.hxrry.hxprefix.config.MessagesConfig;
 
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.Consumer;
+
 public abstract class CommandHelpers {
     protected final HxPrefix plugin;
     protected final MiniMessage mm = MiniMessage.miniMessage();
@@ -31,9 +36,15 @@ public abstract class CommandHelpers {
     
     //config message
     protected void sendMessage(@NotNull CommandSender sender, @NotNull String key, String... replacements) {
+        // pre-parsed at load, only the replacement values are filled in here
+        MessagesConfig messages = plugin.getConfigManager().getMessagesConfig();
+        send(sender, messages.getComponent(key, replacements));
+    }
+    
+    //config message, replacement values keep their formatting - only for trusted values like style names
+    protected void sendFormattedMessage(@NotNull CommandSender sender, @NotNull String key, String... replacements) {
         MessagesConfig messages = plugin.getConfigManager().getMessagesConfig();
-        String message = messages.getMessage(key, replacements);
-        send(sender, message);
+        send(sender, messages.getFormattedComponent(key, replacements));
     }
     
     protected void sendError(@NotNull CommandSender sender, @NotNull String message) {
@@ -61,10 +72,37 @@ public abstract class CommandHelpers {
         return "default";
     }
     
+    /**
+     * resolve a player's rank without blocking, then run the action on the main thread
+     * if luckperms can't load the player the action still runs, as "default"
+     */
+    protected void withPlayerRank(@NotNull Player player, @NotNull Consumer<String> action) {
+        if (plugin.getLuckPermsHook() == null) {
+            action.accept("default");
+            return;
+        }
+        
+        plugin.getLuckPermsHook().getPrimaryGroupAsync(player.getUniqueId()).exceptionally(e -> {
+            Log.error("Failed to look up rank for " + player.getName() + " - using default", e);
+            return "default";
+        }).thenAccept(rank -> {
+            if (Bukkit.isPrimaryThread()) {
+                action.accept(rank);
+            } else {
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (player.isOnline()) {
+                        action.accept(rank);
+                    }
+                });
+            }
+        }).exceptionally(e -> {
+            Log.error("Failed to run rank-gated action for " + player.getName(), e);
+            return null;
+        });
+    }
+    
     protected boolean isValidNickname(@NotNull String input) {
-        // use config pattern
-        String pattern = plugin.getConfigManager().getMainConfig()
-            .getString("nickname.pattern", "^[a-zA-Z0-9_]{3,16}$");
-        return input.matches(pattern);
+        // config pattern, compiled at load
+        return plugin.getConfigManager().getNicknameFilter().matchesPattern(input);
     }
 }
\ No newline at end of file
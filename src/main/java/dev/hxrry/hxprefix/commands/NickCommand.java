@@ -11,6 +11,7 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.UUID;
 
 public class NickCommand extends CommandHelpers {
     
@@ -106,11 +107,9 @@ public class NickCommand extends CommandHelpers {
         }
         
         // check if already taken (optional feature)
-        if (plugin.getConfigManager().getMainConfig().getBoolean("nickname.unique", false)) {
-            if (isNicknameTaken(nickname, player.getUniqueId())) {
-                sendError(player, "that nickname is already taken");
-                return;
-            }
+        if (plugin.getDatabaseManager().isUniqueNicknames() && isNicknameTaken(nickname, player.getUniqueId())) {
+            sendMessage(player, "nickname.taken");
+            return;
         }
         
         // set the nickname
@@ -141,52 +140,25 @@ public class NickCommand extends CommandHelpers {
     }
     
     /**
-     * check if nickname is blocked
+     * check if nickname is blocked or impersonates online staff
      */
     private boolean isBlocked(@NotNull String nickname) {
-        List<String> blocked = plugin.getConfigManager().getMainConfig()
-            .getStringList("nickname.blocked");
-        
-        String lower = nickname.toLowerCase();
-        for (String block : blocked) {
-            if (lower.contains(block.toLowerCase())) {
-                return true;
-            }
-        }
-        
-        // also block staff names
-        for (Player online : Bukkit.getOnlinePlayers()) {
-            if (online.hasPermission("hxprefix.staff") && 
-                online.getName().equalsIgnoreCase(nickname)) {
-                return true;
-            }
-        }
-        
-        return false;
+        return plugin.getConfigManager().getNicknameFilter().isBlocked(nickname) ||
+            plugin.getStaffNames().isStaffName(nickname);
     }
     
     /**
-     * check if nickname is already taken
+     * check if nickname is already taken by another player, online or not
      */
-    private boolean isNicknameTaken(@NotNull String nickname, @NotNull java.util.UUID excludePlayer) {
-        // check online players first
-        for (Player online : Bukkit.getOnlinePlayers()) {
-            if (online.getUniqueId().equals(excludePlayer)) continue;
-            
-            String theirNick = plugin.getAPI().getNickname(online);
-            if (theirNick != null && theirNick.equalsIgnoreCase(nickname)) {
-                return true;
-            }
-            
-            // also check against real names
-            if (online.getName().equalsIgnoreCase(nickname)) {
-                return true;
-            }
+    private boolean isNicknameTaken(@NotNull String nickname, @NotNull UUID excludePlayer) {
+        // anyone's nickname, from the network-wide index
+        if (plugin.getDataCache().isNicknameTaken(nickname, excludePlayer)) {
+            return true;
         }
         
-        // would need database check for offline players
-        // keeping it simple for now
-        return false;
+        // also check against real names of online players
+        Player named = Bukkit.getPlayerExact(nickname);
+        return named != null && !named.getUniqueId().equals(excludePlayer);
     }
     
     /**
@@ -232,10 +204,7 @@ public class NickCommand extends CommandHelpers {
      * update cooldown timestamp (now persistent!)
      */
     private void updateCooldown(@NotNull Player player) {
-        PlayerCustomization data = plugin.getAPI().getPlayerData(player);
-        if (data != null) {
-            data.setLastNicknameChange(System.currentTimeMillis());
-            plugin.getDataCache().savePlayerData(data);
-        }
+        long now = System.currentTimeMillis();
+        plugin.getDataCache().updatePlayerData(player.getUniqueId(), data -> data.withLastNicknameChange(now));
     }
 }
\ No newline at end of file
@@ -48,7 +48,7 @@ public class PrefixCommand extends CommandHelpers {
      * open the prefix selection menu
      */
     private void openPrefixMenu(@NotNull Player player) {
-        new PrefixSelectionMenu(plugin, player).open();
+        withPlayerRank(player, rank -> new PrefixSelectionMenu(plugin, player, rank).open());
     }
     
     /**
@@ -90,7 +90,8 @@ public class PrefixCommand extends CommandHelpers {
         
         // set the prefix
         if (plugin.getAPI().setPrefix(player, selected.getValue())) {
-            sendMessage(player, "prefix.changed", 
+            // style names come from the style files, so their formatting is kept
+            sendFormattedMessage(player, "prefix.changed", 
                 "{prefix}", selected.getDisplayName());
         } else {
             sendError(player, "failed to set prefix");
@@ -41,7 +41,7 @@ public class SuffixCommand extends CommandHelpers {
     }
     
     private void openSuffixMenu(@NotNull Player player) {
-        new SuffixSelectionMenu(plugin, player).open();
+        withPlayerRank(player, rank -> new SuffixSelectionMenu(plugin, player, rank).open());
     }
     
     private void setSuffix(@NotNull Player player, @NotNull String suffixInput) {
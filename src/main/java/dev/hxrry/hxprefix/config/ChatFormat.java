@@ -0,0 +1,54 @@
+package dev.hxrry.hxprefix.config;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.regex.Pattern;
+
+/**
+ * chat format compiled once per config load
+ *
+ * the minimessage format is parsed up front, leaving only the
+ * {displayname} and {message} slots to fill in per message
+ */
+public final class ChatFormat {
+    private static final String DEFAULT_FORMAT = "{displayname} <gray>» <white>{message}";
+    private static final Pattern SLOT_PATTERN = Pattern.compile("\\{(displayname|message)}");
+
+    private final Component template;
+    private final boolean hasSlots;
+
+    private ChatFormat(@NotNull Component template, boolean hasSlots) {
+        this.template = template;
+        this.hasSlots = hasSlots;
+    }
+
+    /**
+     * compile a chat format string
+     *
+     * @param format minimessage format with {displayname} and {message} slots, null for the default
+     */
+    @NotNull
+    public static ChatFormat compile(String format) {
+        String source = format != null ? format : DEFAULT_FORMAT;
+        return new ChatFormat(MiniMessage.miniMessage().deserialize(source), SLOT_PATTERN.matcher(source).find());
+    }
+
+    /**
+     * fill the slots in a single pass over the template
+     */
+    @NotNull
+    public Component render(@NotNull Component displayName, @NotNull Component message) {
+        if (!hasSlots) {
+            return template;
+        }
+
+        return template.replaceText(TextReplacementConfig.builder()
+            .match(SLOT_PATTERN)
+            .replacement((result, builder) -> result.group(1).equals("displayname") ? displayName : message)
+            .build());
+    }
+}
@@ -8,6 +8,7 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
@@ -20,11 +21,14 @@ import java.nio.file.Files;
 public class ConfigManager {
     private final HxPrefix plugin;
     
-    // config instances
-    private FileConfiguration mainConfig;
-    private MessagesConfig messagesConfig;
-    private StyleConfig styleConfig;
-    private PermissionConfig permissionConfig;
+    // config instances - replaced whole on reload and read from chat and I/O
+    // threads, so volatile; each is fully built before it's published
+    private volatile FileConfiguration mainConfig;
+    private volatile MessagesConfig messagesConfig;
+    private final StyleConfig styleConfig;
+    private volatile PermissionConfig permissionConfig;
+    private volatile ChatFormat chatFormat;
+    private volatile NicknameFilter nicknameFilter;
     
     // config files
     private final File configFile;
@@ -38,6 +42,9 @@ public class ConfigManager {
         this.configFile = new File(plugin.getDataFolder(), "config.yml");
         this.messagesFile = new File(plugin.getDataFolder(), "messages.yml");
         this.stylesFolder = new File(plugin.getDataFolder(), "styles");
+        
+        // kept across reloads - it swaps its own contents atomically
+        this.styleConfig = new StyleConfig(plugin, stylesFolder);
     }
     
     /**
@@ -57,22 +64,40 @@ public class ConfigManager {
         // save defaults if they don't exist
         saveDefaults();
         
-        // load main config
+        // load main config and everything derived from it
         loadMainConfig();
         
         // load other configs
-        messagesConfig = new MessagesConfig(plugin, messagesFile);
-        messagesConfig.load();
+        MessagesConfig messages = new MessagesConfig(plugin, messagesFile);
+        messages.load();
+        messagesConfig = messages;
         
-        styleConfig = new StyleConfig(plugin, stylesFolder);
         styleConfig.load();
         
-        permissionConfig = new PermissionConfig(plugin, mainConfig);
-        permissionConfig.load();
-        
         Log.info("loaded all configuration files");
     }
     
+    /**
+     * reload config.yml and everything derived from it
+     */
+    public void reloadMainConfig() {
+        loadMainConfig();
+    }
+    
+    /**
+     * reload messages.yml only
+     */
+    public void reloadMessages() {
+        messagesConfig.load();
+    }
+    
+    /**
+     * reload the style files only
+     */
+    public void reloadStyles() {
+        styleConfig.load();
+    }
+    
     /**
      * reload all configuration files
      */
@@ -111,38 +136,50 @@ public class ConfigManager {
     }
     
     /**
-     * load the main config
+     * load the main config and compile what's derived from it
+     * nothing is published until it's all built
      */
     private void loadMainConfig() {
-        mainConfig = YamlConfiguration.loadConfiguration(configFile);
+        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
         
         // validate required fields
-        validateMainConfig();
+        validateMainConfig(config);
+        
+        ChatFormat format = ChatFormat.compile(config.getString("chat.format"));
+        NicknameFilter filter = NicknameFilter.compile(config);
+        PermissionConfig permissions = new PermissionConfig(plugin, config);
+        permissions.load();
+        
+        mainConfig = config;
+        chatFormat = format;
+        nicknameFilter = filter;
+        permissionConfig = permissions;
     }
     
     /**
      * validate main config has required fields
+     * defaults are filled in memory only - the file is never written during a load
      */
-    private void validateMainConfig() {
+    private void validateMainConfig(@NotNull FileConfiguration config) {
         boolean valid = true;
         
         // check database section
-        if (!mainConfig.contains("database.type")) {
+        if (!config.contains("database.type")) {
             Log.warning("missing database.type in config.yml");
             valid = false;
         }
         
-        if (mainConfig.getString("database.type", "sqlite").equalsIgnoreCase("mysql")) {
-            if (!mainConfig.contains("database.mysql.host")) {
+        if (config.getString("database.type", "sqlite").equalsIgnoreCase("mysql")) {
+            if (!config.contains("database.mysql.host")) {
                 Log.warning("missing database.mysql.host in config.yml");
                 valid = false;
             }
         }
         
         // check feature toggles
-        if (!mainConfig.contains("features")) {
+        if (!config.contains("features")) {
             Log.warning("missing features section in config.yml - using defaults");
-            setDefaultFeatures();
+            setDefaultFeatures(config);
         }
         
         if (!valid) {
@@ -153,20 +190,13 @@ public class ConfigManager {
     /**
      * set default feature toggles
      */
-    private void setDefaultFeatures() {
-        mainConfig.set("features.colours", true);
-        mainConfig.set("features.prefixes", true);
-        mainConfig.set("features.suffixes", true);
-        mainConfig.set("features.nicknames", true);
-        mainConfig.set("features.custom-tags", true);
-        mainConfig.set("features.nametags", true);
-        
-        // save changes
-        try {
-            mainConfig.save(configFile);
-        } catch (IOException e) {
-            Log.error("failed to save default features", e);
-        }
+    private void setDefaultFeatures(@NotNull FileConfiguration config) {
+        config.set("features.colours", true);
+        config.set("features.prefixes", true);
+        config.set("features.suffixes", true);
+        config.set("features.nicknames", true);
+        config.set("features.custom-tags", true);
+        config.set("features.nametags", true);
     }
     
     /**
@@ -225,12 +255,29 @@ public class ConfigManager {
         return permissionConfig;
     }
     
+    @NotNull
+    public ChatFormat getChatFormat() {
+        return chatFormat;
+    }
+    
+    /**
+     * get the compiled nickname pattern and blocked-name matcher
+     */
+    @NotNull
+    public NicknameFilter getNicknameFilter() {
+        return nicknameFilter;
+    }
+    
     // convenience methods for common config values
     
     public boolean isFeatureEnabled(@NotNull String feature) {
         return mainConfig.getBoolean("features." + feature, true);
     }
     
+    public boolean isChatFormatEnabled() {
+        return mainConfig.getBoolean("chat.format-enabled", true);
+    }
+    
     public boolean isNametagsEnabled() {
         return isFeatureEnabled("nametags");
     }
@@ -263,6 +310,88 @@ public class ConfigManager {
         return mainConfig.getInt("cache.max-size", 1000);
     }
     
+    /**
+     * seconds a resolved rank is trusted before it's looked up again
+     */
+    public int getPermissionCacheTTL() {
+        return mainConfig.getInt("cache.permission-ttl", 5);
+    }
+    
+    /**
+     * how long a login waits for player data before letting the player in anyway
+     */
+    public long getPrefetchTimeout() {
+        return mainConfig.getLong("cache.prefetch-timeout-ms", 3000L);
+    }
+    
+    /**
+     * value returned by placeholders while a player's data is still loading
+     * null means render as if the player had no customizations
+     */
+    @Nullable
+    public String getPlaceholderFallback() {
+        return mainConfig.getString("placeholders.loading-fallback");
+    }
+    
+    public int getDatabasePoolSize() {
+        return mainConfig.getInt("database.pool-size", mainConfig.getInt("database.mysql.pool-size", 10));
+    }
+    
+    /**
+     * threads for blocking database calls - more than the pool size would only wait on connections
+     */
+    public int getIoThreads() {
+        return mainConfig.getInt("database.io.threads", getDatabasePoolSize());
+    }
+    
+    public int getIoQueueSize() {
+        return mainConfig.getInt("database.io.queue-size", 1000);
+    }
+    
+    public boolean isIoVirtualThreads() {
+        return mainConfig.getBoolean("database.io.virtual-threads", false);
+    }
+    
+    public int getWriteBatchSize() {
+        return mainConfig.getInt("database.write-behind.batch-size", 100);
+    }
+    
+    public long getWriteFlushInterval() {
+        return mainConfig.getLong("database.write-behind.flush-interval-ms", 1000);
+    }
+    
+    public boolean isFileWatchEnabled() {
+        return mainConfig.getBoolean("reload.watch-files", true);
+    }
+    
+    public long getFileWatchDebounce() {
+        return mainConfig.getLong("reload.debounce-ms", 500L);
+    }
+    
+    public String getSyncChannel() {
+        return mainConfig.getString("sync.channel", "none");
+    }
+    
+    public boolean isChangeFeedEnabled() {
+        return mainConfig.getBoolean("sync.change-feed.enabled", false);
+    }
+    
+    public long getChangeFeedInterval() {
+        return mainConfig.getLong("sync.change-feed.interval-ms", 2000L);
+    }
+    
+    public int getChangeFeedBatchSize() {
+        return mainConfig.getInt("sync.change-feed.max-batch", 500);
+    }
+    
+    public long getChangeFeedClockSkew() {
+        return mainConfig.getLong("sync.change-feed.clock-skew-ms", 5000L);
+    }
+    
+    public boolean isNicknameUnique() {
+        return mainConfig.getBoolean("nickname.unique", false);
+    }
+    
     public String getDatabaseType() {
         return mainConfig.getString("database.type", "sqlite");
     }
@@ -0,0 +1,211 @@
+package dev.hxrry.hxprefix.config;
+
+import dev.hxrry.hxcore.utils.Log;
+
+import dev.hxrry.hxprefix.HxPrefix;
+
+import org.bukkit.Bukkit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * watches the config files and hot reloads whichever part changed
+ *
+ * editors often write a file several times per save, so changes are
+ * debounced and applied together on the main thread. only config is
+ * reloaded - player data is never touched
+ */
+public class ConfigWatcher {
+    private final HxPrefix plugin;
+    private final File dataFolder;
+    private final File stylesFolder;
+    private final long debounceMs;
+
+    private final ScheduledExecutorService debouncer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "HxPrefix-ConfigDebounce");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // subsystems changed since the last reload, guarded by itself
+    private final Set<Subsystem> pending = EnumSet.noneOf(Subsystem.class);
+    private ScheduledFuture<?> scheduled;
+
+    private WatchService watchService;
+    private Thread watchThread;
+
+    /**
+     * parts of the config that reload independently
+     */
+    private enum Subsystem {
+        MAIN, MESSAGES, STYLES
+    }
+
+    public ConfigWatcher(@NotNull HxPrefix plugin, long debounceMs) {
+        this.plugin = plugin;
+        this.dataFolder = plugin.getDataFolder();
+        this.stylesFolder = new File(dataFolder, "styles");
+        this.debounceMs = Math.max(50, debounceMs);
+    }
+
+    /**
+     * start watching the data and styles folders
+     */
+    public void start() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            dataFolder.toPath().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            stylesFolder.toPath().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            Log.error("Failed to start config watcher - use /hxprefix reload instead", e);
+            return;
+        }
+
+        watchThread = new Thread(this::watch, "HxPrefix-ConfigWatcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+
+        Log.info("Watching config files for changes (debounce: " + debounceMs + "ms)");
+    }
+
+    /**
+     * stop watching
+     */
+    public void stop() {
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException ignored) {}
+
+        if (watchThread != null) {
+            watchThread.interrupt();
+        }
+        debouncer.shutdownNow();
+    }
+
+    /**
+     * watch loop - runs until the watch service is closed
+     */
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path dir = (Path) key.watchable();
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // lost track of what changed - reload it all
+                        queue(EnumSet.allOf(Subsystem.class));
+                        continue;
+                    }
+
+                    Subsystem changed = classify(dir, (Path) event.context());
+                    if (changed != null) {
+                        queue(EnumSet.of(changed));
+                    }
+                }
+
+                if (!key.reset()) {
+                    Log.warning("Config watcher lost access to " + dir);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stopped
+        }
+    }
+
+    /**
+     * work out which subsystem a changed file belongs to
+     */
+    @Nullable
+    private Subsystem classify(@NotNull Path dir, @NotNull Path name) {
+        String fileName = name.toString();
+
+        if (dir.equals(stylesFolder.toPath())) {
+            return switch (fileName) {
+                case "colours.yml", "prefixes.yml", "suffixes.yml" -> Subsystem.STYLES;
+                default -> null;
+            };
+        }
+
+        return switch (fileName) {
+            case "config.yml" -> Subsystem.MAIN;
+            case "messages.yml" -> Subsystem.MESSAGES;
+            default -> null;
+        };
+    }
+
+    /**
+     * remember what changed and restart the debounce timer
+     */
+    private void queue(@NotNull Set<Subsystem> changed) {
+        synchronized (pending) {
+            pending.addAll(changed);
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            scheduled = debouncer.schedule(this::fire, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * debounce expired - hand everything queued to the main thread
+     */
+    private void fire() {
+        Set<Subsystem> changed;
+        synchronized (pending) {
+            changed = EnumSet.copyOf(pending);
+            pending.clear();
+            scheduled = null;
+        }
+
+        if (!changed.isEmpty() && plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, () -> apply(changed));
+        }
+    }
+
+    /**
+     * reload the changed subsystems
+     */
+    private void apply(@NotNull Set<Subsystem> changed) {
+        ConfigManager config = plugin.getConfigManager();
+
+        try {
+            if (changed.contains(Subsystem.MAIN)) {
+                config.reloadMainConfig();
+            }
+            if (changed.contains(Subsystem.MESSAGES)) {
+                config.reloadMessages();
+            }
+            if (changed.contains(Subsystem.STYLES)) {
+                config.reloadStyles();
+            }
+
+            plugin.invalidateRenderCaches();
+            Log.info("Hot reloaded " + changed.toString().toLowerCase());
+
+        } catch (Exception e) {
+            Log.error("Failed to hot reload " + changed.toString().toLowerCase(), e);
+        }
+    }
+}
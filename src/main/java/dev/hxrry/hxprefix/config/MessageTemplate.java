@@ -0,0 +1,185 @@
+package dev.hxrry.hxprefix.config;
+
+import dev.hxrry.hxcore.text.Colours;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * one message compiled once per messages.yml load
+ *
+ * the text is split around its {slot} placeholders up front, so filling it in
+ * is a single pass, and the formatted component is parsed once - sending a
+ * message only swaps values into the slots. instances are immutable
+ */
+public final class MessageTemplate {
+    private static final Pattern SLOT_PATTERN = Pattern.compile("\\{([a-zA-Z0-9_-]+)}");
+
+    private final String source;
+
+    // literals.length == slots.length + 1, slot i sits between literal i and i + 1
+    private final String[] literals;
+    private final String[] slots;
+
+    private final Component component;
+
+    private MessageTemplate(@NotNull String source, @NotNull String[] literals, @NotNull String[] slots,
+                            @NotNull Component component) {
+        this.source = source;
+        this.literals = literals;
+        this.slots = slots;
+        this.component = component;
+    }
+
+    /**
+     * compile a message
+     *
+     * @param source message text (legacy codes or minimessage) with {slot} placeholders
+     */
+    @NotNull
+    public static MessageTemplate compile(@NotNull String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+
+        Matcher matcher = SLOT_PATTERN.matcher(source);
+        int last = 0;
+        while (matcher.find()) {
+            literals.add(source.substring(last, matcher.start()));
+            slots.add(matcher.group(1));
+            last = matcher.end();
+        }
+        literals.add(source.substring(last));
+
+        return new MessageTemplate(source,
+            literals.toArray(new String[0]),
+            slots.toArray(new String[0]),
+            Colours.parse(source));
+    }
+
+    /**
+     * get the raw message text
+     */
+    @NotNull
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * check if the message has any {slot} placeholders
+     */
+    public boolean hasSlots() {
+        return slots.length > 0;
+    }
+
+    /**
+     * fill the slots into the message text
+     * slots with no replacement are left as they are
+     *
+     * @param replacements pairs of placeholder and value, e.g. "{rank}", "vip"
+     */
+    @NotNull
+    public String format(@NotNull String... replacements) {
+        if (slots.length == 0 || replacements.length < 2) {
+            return source;
+        }
+
+        StringBuilder out = new StringBuilder(source.length() + 16 * slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            String value = lookup(slots[i], replacements);
+            if (value != null) {
+                out.append(value);
+            } else {
+                out.append('{').append(slots[i]).append('}');
+            }
+        }
+        out.append(literals[slots.length]);
+        return out.toString();
+    }
+
+    /**
+     * get the parsed message with values swapped into its slots as plain text
+     * the message itself isn't parsed again - safe for player-controlled values
+     *
+     * @param replacements pairs of placeholder and value, e.g. "{rank}", "vip"
+     */
+    @NotNull
+    public Component render(@NotNull String... replacements) {
+        return render(false, replacements);
+    }
+
+    /**
+     * get the parsed message with values swapped into its slots, formatting and all
+     * only for trusted values (style names from the config) - a value with tags
+     * could otherwise add click or hover events to the message
+     *
+     * @param replacements pairs of placeholder and value, e.g. "{prefix}", "<green>VIP"
+     */
+    @NotNull
+    public Component renderFormatted(@NotNull String... replacements) {
+        return render(true, replacements);
+    }
+
+    @NotNull
+    private Component render(boolean formatted, @NotNull String[] replacements) {
+        if (slots.length == 0 || replacements.length < 2) {
+            return component;
+        }
+
+        return component.replaceText(TextReplacementConfig.builder()
+            .match(SLOT_PATTERN)
+            .replacement((result, builder) -> {
+                String value = lookup(result.group(1), replacements);
+                if (value == null) {
+                    return builder;
+                }
+                return formatted ? formattedValue(value) : Component.text(value);
+            })
+            .build());
+    }
+
+    /**
+     * get the parsed message as-is
+     */
+    @NotNull
+    public Component component() {
+        return component;
+    }
+
+    /**
+     * find the value for a slot, accepting "{name}" or "name" as the placeholder
+     */
+    @Nullable
+    private static String lookup(@NotNull String slot, @NotNull String[] replacements) {
+        for (int i = 0; i < replacements.length - 1; i += 2) {
+            String placeholder = replacements[i];
+            int length = placeholder.length();
+            boolean braced = length == slot.length() + 2 &&
+                placeholder.charAt(0) == '{' && placeholder.charAt(length - 1) == '}' &&
+                placeholder.regionMatches(1, slot, 0, slot.length());
+            if (braced || placeholder.equals(slot)) {
+                return replacements[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * parse a trusted value's formatting - plain ones skip the parser
+     */
+    @NotNull
+    private static Component formattedValue(@NotNull String value) {
+        if (value.indexOf('<') < 0 && value.indexOf('&') < 0 && value.indexOf('§') < 0) {
+            return Component.text(value);
+        }
+        return Colours.parse(value);
+    }
+}
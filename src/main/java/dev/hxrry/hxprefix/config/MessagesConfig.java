@@ -7,7 +7,6 @@ import dev.hxrry.hxprefix.HxPrefix;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
-import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -17,9 +16,15 @@ import org.jetbrains.annotations.NotNull;
 import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles all message configuration and formatting
+ * 
+ * every message is compiled into a MessageTemplate on load and published, with
+ * the plugin prefix, as one immutable snapshot - lookups from chat, command and
+ * gui threads need no locking, never see a new message with an old prefix, and
+ * sending a message never re-parses it
  */
 public class MessagesConfig {
     @SuppressWarnings("unused")
@@ -28,9 +33,8 @@ public class MessagesConfig {
     private FileConfiguration config;
     private final MiniMessage mm = MiniMessage.miniMessage();
     
-    // Cache processed messages
-    private final Map<String, String> messageCache = new HashMap<>();
-    private String pluginPrefix;
+    // compiled messages - replaced as a whole on load with a single write
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
     
     public MessagesConfig(@NotNull HxPrefix plugin, @NotNull File file) {
         this.plugin = plugin;
@@ -42,42 +46,55 @@ public class MessagesConfig {
      */
     public void load() {
         config = YamlConfiguration.loadConfiguration(file);
-        messageCache.clear();
         
         // Load plugin prefix
-        pluginPrefix = config.getString("plugin_prefix", "<gray>[<gradient:#00ff00:#00ffff>HxPrefix</gradient>]</gray> ");
+        String prefix = config.getString("plugin_prefix", "<gray>[<gradient:#00ff00:#00ffff>HxPrefix</gradient>]</gray> ");
         
         // Validate messages exist
         validateMessages();
         
-        Log.debug("Loaded " + countMessages() + " messages");
+        // compile every message up front
+        Map<String, MessageTemplate> compiled = new HashMap<>();
+        for (String key : config.getKeys(true)) {
+            if (config.isConfigurationSection(key) || !config.isString(key)) {
+                continue;
+            }
+            String message = config.getString(key);
+            if (shouldHavePrefix(key)) {
+                message = prefix + message;
+            }
+            compiled.put(key, MessageTemplate.compile(message));
+        }
+        
+        snapshot = new Snapshot(prefix, Map.copyOf(compiled), new ConcurrentHashMap<>());
+        
+        Log.debug("Loaded " + compiled.size() + " messages");
     }
     
     /**
-     * Get a message by key
+     * Get the compiled template for a key
      */
     @NotNull
-    public String getMessage(@NotNull String key) {
-        // Check cache first
-        if (messageCache.containsKey(key)) {
-            return messageCache.get(key);
-        }
-        
-        // Load from config
-        String message = config.getString(key);
-        if (message == null) {
-            Log.warning("Missing message: " + key);
-            message = "<red>Missing message: " + key;
-        }
-        
-        // Process message (add plugin prefix if needed)
-        if (shouldHavePrefix(key)) {
-            message = pluginPrefix + message;
+    public MessageTemplate getTemplate(@NotNull String key) {
+        Snapshot current = snapshot;
+        MessageTemplate template = current.templates.get(key);
+        if (template != null) {
+            return template;
         }
         
-        // Cache it
-        messageCache.put(key, message);
-        return message;
+        return current.missing.computeIfAbsent(key, k -> {
+            Log.warning("Missing message: " + k);
+            String message = "<red>Missing message: " + k;
+            return MessageTemplate.compile(shouldHavePrefix(k) ? current.prefix + message : message);
+        });
+    }
+    
+    /**
+     * Get a message by key
+     */
+    @NotNull
+    public String getMessage(@NotNull String key) {
+        return getTemplate(key).getSource();
     }
     
     /**
@@ -85,16 +102,8 @@ public class MessagesConfig {
      */
     @NotNull
     public String getMessage(@NotNull String key, @NotNull String... replacements) {
-        String message = getMessage(key);
-        
         // Apply replacements (format: key, value, key, value...)
-        for (int i = 0; i < replacements.length - 1; i += 2) {
-            String placeholder = replacements[i];
-            String value = replacements[i + 1];
-            message = message.replace(placeholder, value);
-        }
-        
-        return message;
+        return getTemplate(key).format(replacements);
     }
     
     /**
@@ -102,7 +111,7 @@ public class MessagesConfig {
      */
     @NotNull
     public Component getComponent(@NotNull String key) {
-        return mm.deserialize(getMessage(key));
+        return getTemplate(key).component();
     }
     
     /**
@@ -110,23 +119,30 @@ public class MessagesConfig {
      */
     @NotNull
     public Component getComponent(@NotNull String key, @NotNull TagResolver... resolvers) {
+        if (resolvers.length == 0) {
+            return getComponent(key);
+        }
         return mm.deserialize(getMessage(key), resolvers);
     }
     
     /**
      * Get a message with placeholder replacements
+     * values are inserted as plain text, so player input can't add formatting or events
      */
     @NotNull
     public Component getComponent(@NotNull String key, @NotNull String... replacements) {
-        // Convert string replacements to tag resolvers
-        TagResolver[] resolvers = new TagResolver[replacements.length / 2];
-        for (int i = 0, j = 0; i < replacements.length - 1; i += 2, j++) {
-            String placeholder = replacements[i].replace("{", "").replace("}", "");
-            String value = replacements[i + 1];
-            resolvers[j] = Placeholder.unparsed(placeholder, value);
-        }
-        
-        return mm.deserialize(getMessage(key), resolvers);
+        // values go straight into the pre-parsed message's slots
+        return getTemplate(key).render(replacements);
+    }
+    
+    /**
+     * Get a message with replacement values that carry formatting of their own
+     * only for trusted values, such as names from the style files - anything a
+     * player typed goes through getComponent so it's shown as plain text
+     */
+    @NotNull
+    public Component getFormattedComponent(@NotNull String key, @NotNull String... replacements) {
+        return getTemplate(key).renderFormatted(replacements);
     }
     
     /**
@@ -134,7 +150,7 @@ public class MessagesConfig {
      */
     @NotNull
     public String getPrefix() {
-        return pluginPrefix;
+        return snapshot.prefix;
     }
     
     /**
@@ -194,9 +210,9 @@ public class MessagesConfig {
             }
         }
         
+        // defaults live in memory only - writing the file here would trip the config watcher
         if (missing > 0) {
-            Log.warning("Added " + missing + " missing messages with defaults");
-            saveConfig();
+            Log.warning("Using defaults for " + missing + " missing messages");
         }
     }
     
@@ -230,33 +246,21 @@ public class MessagesConfig {
     }
     
     /**
-     * Save the config file
-     */
-    private void saveConfig() {
-        try {
-            config.save(file);
-        } catch (Exception e) {
-            Log.error("Failed to save messages.yml", e);
-        }
-    }
-    
-    /**
-     * Count total messages
+     * Reload messages
      */
-    private int countMessages() {
-        int count = 0;
-        for (String key : config.getKeys(true)) {
-            if (!config.isConfigurationSection(key)) {
-                count++;
-            }
-        }
-        return count;
+    public void reload() {
+        load();
     }
     
     /**
-     * Reload messages
+     * one load's prefix and messages, swapped in together
+     * missing holds keys asked for but not in the file, so each is only warned about once per load
      */
-    public void reload() {
-        load();
+    private record Snapshot(
+        String prefix,
+        Map<String, MessageTemplate> templates,
+        Map<String, MessageTemplate> missing
+    ) {
+        private static final Snapshot EMPTY = new Snapshot("", Map.of(), new ConcurrentHashMap<>());
     }
 }
\ No newline at end of file
@@ -0,0 +1,243 @@
+package dev.hxrry.hxprefix.config;
+
+import dev.hxrry.hxcore.utils.Log;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * nickname rules compiled once per config load
+ *
+ * names and blocked terms are both normalized first (lowercase, leetspeak
+ * folded, separators dropped) so "4dm1n" and "a_d_m_i_n" still hit "admin".
+ * by default a name is only blocked when all of it is a blocked term, so
+ * ordinary names that happen to contain one ("Observer", "Downer") are fine.
+ * the contains mode blocks a term anywhere in the name - the terms are then
+ * built into an aho-corasick automaton, so checking a name is one pass over
+ * its characters no matter how many terms there are
+ */
+public final class NicknameFilter {
+    private static final String DEFAULT_PATTERN = "^[a-zA-Z0-9_]{3,16}$";
+
+    // a-z then 0-9 - everything else is dropped by normalize
+    private static final int ALPHABET = 36;
+
+    private final Pattern pattern;
+    private final Set<String> terms;
+
+    // contains mode only - transitions[state * ALPHABET + symbol], state 0 is the root
+    private final int[] transitions;
+    private final boolean[] matches;
+
+    private NicknameFilter(@NotNull Pattern pattern, @NotNull Set<String> terms,
+                           int[] transitions, boolean[] matches) {
+        this.pattern = pattern;
+        this.terms = terms;
+        this.transitions = transitions;
+        this.matches = matches;
+    }
+
+    /**
+     * compile the nickname section of config.yml
+     *
+     * reads nickname.blocked (or nickname.blocked-names), nickname.blocked-match
+     * (exact or contains) and nickname.pattern (or nickname.validation-pattern)
+     */
+    @NotNull
+    public static NicknameFilter compile(@NotNull FileConfiguration config) {
+        List<String> blocked = config.isList("nickname.blocked") ?
+            config.getStringList("nickname.blocked") :
+            config.getStringList("nickname.blocked-names");
+
+        String match = config.getString("nickname.blocked-match", "exact");
+        boolean contains = "contains".equalsIgnoreCase(match);
+        if (!contains && !"exact".equalsIgnoreCase(match)) {
+            Log.warning("Invalid nickname.blocked-match '" + match + "', using exact");
+        }
+
+        String regex = config.getString("nickname.pattern",
+            config.getString("nickname.validation-pattern", DEFAULT_PATTERN));
+
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            Log.warning("Invalid nickname pattern '" + regex + "', using default: " + e.getDescription());
+            pattern = Pattern.compile(DEFAULT_PATTERN);
+        }
+
+        return build(pattern, blocked, contains);
+    }
+
+    @NotNull
+    private static NicknameFilter build(@NotNull Pattern pattern, @NotNull List<String> blocked, boolean contains) {
+        Set<String> terms = new HashSet<>();
+        for (String term : blocked) {
+            String normalized = normalize(term);
+            if (!normalized.isEmpty()) {
+                terms.add(normalized);
+            }
+        }
+
+        if (!contains) {
+            return new NicknameFilter(pattern, Set.copyOf(terms), null, null);
+        }
+
+        // trie of normalized terms, grown as needed
+        List<int[]> trie = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        trie.add(newState());
+        terminal.add(false);
+
+        for (String normalized : terms) {
+            int state = 0;
+            for (int i = 0; i < normalized.length(); i++) {
+                int symbol = symbol(normalized.charAt(i));
+                int next = trie.get(state)[symbol];
+                if (next < 0) {
+                    next = trie.size();
+                    trie.get(state)[symbol] = next;
+                    trie.add(newState());
+                    terminal.add(false);
+                }
+                state = next;
+            }
+            terminal.set(state, true);
+        }
+
+        // breadth-first over the trie, filling missing edges from the failure links
+        int states = trie.size();
+        int[] transitions = new int[states * ALPHABET];
+        boolean[] matches = new boolean[states];
+        int[] fail = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int child = trie.get(0)[symbol];
+            if (child < 0) {
+                transitions[symbol] = 0;
+            } else {
+                transitions[symbol] = child;
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        matches[0] = terminal.get(0);
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            matches[state] = terminal.get(state) || matches[fail[state]];
+
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int child = trie.get(state)[symbol];
+                if (child < 0) {
+                    transitions[state * ALPHABET + symbol] = transitions[fail[state] * ALPHABET + symbol];
+                } else {
+                    transitions[state * ALPHABET + symbol] = child;
+                    fail[child] = transitions[fail[state] * ALPHABET + symbol];
+                    queue.add(child);
+                }
+            }
+        }
+
+        return new NicknameFilter(pattern, Set.copyOf(terms), transitions, matches);
+    }
+
+    @NotNull
+    private static int[] newState() {
+        int[] edges = new int[ALPHABET];
+        Arrays.fill(edges, -1);
+        return edges;
+    }
+
+    /**
+     * check a nickname against the configured pattern
+     */
+    public boolean matchesPattern(@NotNull String nickname) {
+        return pattern.matcher(nickname).matches();
+    }
+
+    /**
+     * check if a nickname is a blocked term, or contains one in contains mode
+     */
+    public boolean isBlocked(@NotNull String nickname) {
+        if (terms.isEmpty()) {
+            return false;
+        }
+        if (transitions == null) {
+            return terms.contains(normalize(nickname));
+        }
+
+        int state = 0;
+        for (int i = 0; i < nickname.length(); i++) {
+            int symbol = symbol(fold(nickname.charAt(i)));
+            if (symbol < 0) {
+                continue;
+            }
+            state = transitions[state * ALPHABET + symbol];
+            if (matches[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * get number of blocked terms compiled in
+     */
+    public int getBlockedTermCount() {
+        return terms.size();
+    }
+
+    /**
+     * lowercase, fold leetspeak and drop anything that isn't a letter or digit
+     */
+    @NotNull
+    static String normalize(@NotNull String input) {
+        StringBuilder out = new StringBuilder(input.length());
+        for (int i = 0; i < input.length(); i++) {
+            char c = fold(input.charAt(i));
+            if (symbol(c) >= 0) {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * map one character to its normalized form
+     */
+    private static char fold(char c) {
+        return switch (c) {
+            case '0' -> 'o';
+            case '1', '!', '|' -> 'i';
+            case '3' -> 'e';
+            case '4', '@' -> 'a';
+            case '5', '$' -> 's';
+            case '7' -> 't';
+            case '8' -> 'b';
+            case '9' -> 'g';
+            default -> Character.toLowerCase(c);
+        };
+    }
+
+    /**
+     * automaton symbol for a normalized character, or -1 if it's ignored
+     */
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        if (c >= '0' && c <= '9') return 26 + (c - '0');
+        return -1;
+    }
+}
@@ -7,6 +7,7 @@ import dev.hxrry.hxprefix.api.models.StyleOption;
 
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
@@ -14,30 +15,41 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
 import java.util.stream.Collectors;
 
 /**
  * handles style configurations (colours, prefixes, suffixes)
- * redone thread-safe implementation using ConcurrentHashMap
+ * 
+ * everything loaded lives in one immutable snapshot behind a volatile
+ * reference - readers never lock and never see a half-loaded registry,
+ * a reload builds a new snapshot and swaps it in with a single write
  */
 public class StyleConfig {
     @SuppressWarnings("unused")
     private final HxPrefix plugin;
     private final File stylesFolder;
-
-    private final Map<String, StyleOption> colours = new ConcurrentHashMap<>();
-    private final Map<String, StyleOption> prefixes = new ConcurrentHashMap<>();
-    private final Map<String, StyleOption> suffixes = new ConcurrentHashMap<>();
     
-    private final Map<String, List<String>> colourAccess = new ConcurrentHashMap<>();
-    private final Map<String, List<String>> prefixAccess = new ConcurrentHashMap<>();
-    private final Map<String, List<String>> suffixAccess = new ConcurrentHashMap<>();
+    private static final String COLOURS_FILE = "colours.yml";
+    private static final String PREFIXES_FILE = "prefixes.yml";
+    private static final String SUFFIXES_FILE = "suffixes.yml";
+    
+    // current styles, replaced wholesale on reload
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
     
-    // lock for reload operations to prevent concurrent modifications
+    // serialises reloads against each other, readers never take it
     private final Object reloadLock = new Object();
     
+    // what each style file looked like when last parsed (guarded by reloadLock)
+    private final Map<String, FileState> fileStates = new HashMap<>();
+    
     public StyleConfig(@NotNull HxPrefix plugin, @NotNull File stylesFolder) {
         this.plugin = plugin;
         this.stylesFolder = stylesFolder;
@@ -45,60 +57,130 @@ public class StyleConfig {
     
     /**
      * load all style configurations
+     * 
+     * the three files are parsed in parallel, and files unchanged since the
+     * last load reuse their previous parse
      */
     public void load() {
         synchronized (reloadLock) {
-            // create temporary maps to load into
-            Map<String, StyleOption> tempColours = new ConcurrentHashMap<>();
-            Map<String, StyleOption> tempPrefixes = new ConcurrentHashMap<>();
-            Map<String, StyleOption> tempSuffixes = new ConcurrentHashMap<>();
-            Map<String, List<String>> tempColourAccess = new ConcurrentHashMap<>();
-            Map<String, List<String>> tempPrefixAccess = new ConcurrentHashMap<>();
-            Map<String, List<String>> tempSuffixAccess = new ConcurrentHashMap<>();
+            FileState colours;
+            FileState prefixes;
+            FileState suffixes;
             
-            // load into temporary maps
-            loadColours(tempColours, tempColourAccess);
-            loadPrefixes(tempPrefixes, tempPrefixAccess);
-            loadSuffixes(tempSuffixes, tempSuffixAccess);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                CompletableFuture<FileState> colourLoad = CompletableFuture.supplyAsync(
+                    () -> loadFile(COLOURS_FILE, this::loadColours), executor);
+                CompletableFuture<FileState> prefixLoad = CompletableFuture.supplyAsync(
+                    () -> loadFile(PREFIXES_FILE, this::loadPrefixes), executor);
+                CompletableFuture<FileState> suffixLoad = CompletableFuture.supplyAsync(
+                    () -> loadFile(SUFFIXES_FILE, this::loadSuffixes), executor);
+                
+                colours = colourLoad.join();
+                prefixes = prefixLoad.join();
+                suffixes = suffixLoad.join();
+            }
             
-            // atomically replace all maps at once
-            colours.clear();
-            colours.putAll(tempColours);
+            int reparsed = countReparsed(COLOURS_FILE, colours)
+                + countReparsed(PREFIXES_FILE, prefixes)
+                + countReparsed(SUFFIXES_FILE, suffixes);
             
-            prefixes.clear();
-            prefixes.putAll(tempPrefixes);
+            fileStates.put(COLOURS_FILE, colours);
+            fileStates.put(PREFIXES_FILE, prefixes);
+            fileStates.put(SUFFIXES_FILE, suffixes);
             
-            suffixes.clear();
-            suffixes.putAll(tempSuffixes);
+            if (reparsed == 0 && snapshot != Snapshot.EMPTY) {
+                Log.debug("style files unchanged - keeping loaded styles");
+                return;
+            }
             
-            colourAccess.clear();
-            colourAccess.putAll(tempColourAccess);
+            ParsedFile colourFile = colours.parsed();
+            ParsedFile prefixFile = prefixes.parsed();
+            ParsedFile suffixFile = suffixes.parsed();
             
-            prefixAccess.clear();
-            prefixAccess.putAll(tempPrefixAccess);
+            // build the rank index once so lookups don't filter or allocate
+            Snapshot loaded = new Snapshot(
+                colourFile.options(), prefixFile.options(), suffixFile.options(),
+                colourFile.access(), prefixFile.access(), suffixFile.access(),
+                indexColours(colourFile.options(), colourFile.access()),
+                indexByRank(prefixFile.options().values()),
+                indexByRank(suffixFile.options().values()),
+                wildcardOptions(prefixFile.options().values()),
+                wildcardOptions(suffixFile.options().values())
+            );
             
-            suffixAccess.clear();
-            suffixAccess.putAll(tempSuffixAccess);
+            // publish everything at once
+            snapshot = loaded;
             
-            Log.info("loaded " + colours.size() + " colours, " + 
-                    prefixes.size() + " prefixes, " + 
-                    suffixes.size() + " suffixes");
+            Log.info("loaded " + colourFile.options().size() + " colours, " + 
+                    prefixFile.options().size() + " prefixes, " + 
+                    suffixFile.options().size() + " suffixes (" + reparsed + " files parsed)");
         }
     }
     
     /**
-     * load colour configurations into provided maps
+     * read and parse one style file, unless it's the same as last time
+     * 
+     * mtime + size is checked first so untouched files aren't even read,
+     * then a content hash so a save without changes isn't reparsed
      */
-    private void loadColours(Map<String, StyleOption> targetColours, 
-                            Map<String, List<String>> targetAccess) {
-        File file = new File(stylesFolder, "colours.yml");
+    @NotNull
+    private FileState loadFile(@NotNull String fileName, @NotNull StyleParser parser) {
+        File file = new File(stylesFolder, fileName);
+        FileState previous = fileStates.get(fileName);
+        
         if (!file.exists()) {
-            Log.warning("colours.yml not found");
-            return;
+            Log.warning(fileName + " not found");
+            return new FileState(0, 0, 0, ParsedFile.EMPTY);
         }
         
-        FileConfiguration config = YamlConfiguration.loadConfiguration(file);
+        long modified = file.lastModified();
+        long size = file.length();
+        if (previous != null && previous.modified() == modified && previous.size() == size) {
+            return previous;
+        }
         
+        try {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            long hash = crc.getValue();
+            
+            if (previous != null && previous.hash() == hash) {
+                return new FileState(modified, size, hash, previous.parsed());
+            }
+            
+            YamlConfiguration config = new YamlConfiguration();
+            config.loadFromString(new String(bytes, StandardCharsets.UTF_8));
+            
+            Map<String, StyleOption> options = new LinkedHashMap<>();
+            Map<String, List<String>> access = new HashMap<>();
+            parser.parse(config, options, access);
+            
+            return new FileState(modified, size, hash, new ParsedFile(
+                Collections.unmodifiableMap(options),
+                Collections.unmodifiableMap(access)));
+            
+        } catch (IOException | InvalidConfigurationException e) {
+            // keep what we had rather than wiping the styles over a typo
+            Log.error("failed to load " + fileName + " - keeping previous styles", e);
+            return previous != null ? previous : new FileState(0, 0, 0, ParsedFile.EMPTY);
+        }
+    }
+    
+    /**
+     * 1 if a file's parse differs from the one already loaded
+     */
+    private int countReparsed(@NotNull String fileName, @NotNull FileState state) {
+        FileState previous = fileStates.get(fileName);
+        return previous != null && previous.parsed() == state.parsed() ? 0 : 1;
+    }
+    
+    /**
+     * parse colour configurations into provided maps
+     */
+    private void loadColours(@NotNull FileConfiguration config,
+                            Map<String, StyleOption> targetColours,
+                            Map<String, List<String>> targetAccess) {
         // load colour groups
         ConfigurationSection groupsSection = config.getConfigurationSection("colour-groups");
         if (groupsSection != null) {
@@ -186,18 +268,11 @@ public class StyleConfig {
     }
     
     /**
-     * load prefix configurations into provided maps
+     * parse prefix configurations into provided maps
      */
-    private void loadPrefixes(Map<String, StyleOption> targetPrefixes,
-                             Map<String, List<String>> targetAccess) {
-        File file = new File(stylesFolder, "prefixes.yml");
-        if (!file.exists()) {
-            Log.warning("prefixes.yml not found");
-            return;
-        }
-        
-        FileConfiguration config = YamlConfiguration.loadConfiguration(file);
-        
+    private void loadPrefixes(@NotNull FileConfiguration config,
+                            Map<String, StyleOption> targetPrefixes,
+                            Map<String, List<String>> targetAccess) {
         // load prefix options
         ConfigurationSection optionsSection = config.getConfigurationSection("prefix-options");
         if (optionsSection != null) {
@@ -249,18 +324,11 @@ public class StyleConfig {
     }
     
     /**
-     * load suffix configurations into provided maps
+     * parse suffix configurations into provided maps
      */
-    private void loadSuffixes(Map<String, StyleOption> targetSuffixes,
-                             Map<String, List<String>> targetAccess) {
-        File file = new File(stylesFolder, "suffixes.yml");
-        if (!file.exists()) {
-            Log.warning("suffixes.yml not found");
-            return;
-        }
-        
-        FileConfiguration config = YamlConfiguration.loadConfiguration(file);
-        
+    private void loadSuffixes(@NotNull FileConfiguration config,
+                            Map<String, StyleOption> targetSuffixes,
+                            Map<String, List<String>> targetAccess) {
         // load suffix options
         ConfigurationSection optionsSection = config.getConfigurationSection("suffix-options");
         if (optionsSection != null) {
@@ -322,20 +390,67 @@ public class StyleConfig {
     }
     
     /**
-     * get available colours for a rank
+     * build rank -> colours from the rank access lists
      */
     @NotNull
-    public List<StyleOption> getAvailableColours(@NotNull String rank) {
-        List<String> colourIds = colourAccess.get(rank.toLowerCase());
-        if (colourIds == null) {
-            return Collections.emptyList();
+    private Map<String, List<StyleOption>> indexColours(@NotNull Map<String, StyleOption> sourceColours,
+                                                        @NotNull Map<String, List<String>> access) {
+        Map<String, List<StyleOption>> index = new HashMap<>();
+        
+        for (Map.Entry<String, List<String>> entry : access.entrySet()) {
+            List<String> rankOnly = List.of(entry.getKey());
+            List<StyleOption> options = new ArrayList<>(entry.getValue().size());
+            
+            for (String id : entry.getValue()) {
+                StyleOption option = sourceColours.get(id);
+                if (option != null) {
+                    options.add(option.withRanks(rankOnly));
+                }
+            }
+            
+            index.put(entry.getKey(), Collections.unmodifiableList(options));
         }
         
-        return colourIds.stream()
-            .map(colours::get)
-            .filter(Objects::nonNull)
-            .map(opt -> opt.withRanks(List.of(rank)))
-            .collect(Collectors.toList());
+        return Collections.unmodifiableMap(index);
+    }
+    
+    /**
+     * build rank -> options from each option's own rank list
+     */
+    @NotNull
+    private Map<String, List<StyleOption>> indexByRank(@NotNull Collection<StyleOption> options) {
+        Set<String> ranks = new HashSet<>();
+        for (StyleOption option : options) {
+            ranks.addAll(option.getAllowedRanks());
+        }
+        ranks.remove("*");
+        
+        Map<String, List<StyleOption>> index = new HashMap<>();
+        for (String rank : ranks) {
+            index.put(rank, options.stream()
+                .filter(opt -> opt.isAllowedForRank(rank))
+                .toList());
+        }
+        
+        return Collections.unmodifiableMap(index);
+    }
+    
+    /**
+     * options every rank can use
+     */
+    @NotNull
+    private List<StyleOption> wildcardOptions(@NotNull Collection<StyleOption> options) {
+        return options.stream()
+            .filter(opt -> opt.getAllowedRanks().contains("*"))
+            .toList();
+    }
+    
+    /**
+     * get available colours for a rank
+     */
+    @NotNull
+    public List<StyleOption> getAvailableColours(@NotNull String rank) {
+        return snapshot.colourIndex.getOrDefault(rank.toLowerCase(), List.of());
     }
     
     /**
@@ -343,10 +458,8 @@ public class StyleConfig {
      */
     @NotNull
     public List<StyleOption> getAvailablePrefixes(@NotNull String rank) {
-        // check by rank list in each prefix
-        return prefixes.values().stream()
-            .filter(opt -> opt.isAllowedForRank(rank))
-            .collect(Collectors.toList());
+        Snapshot current = snapshot;
+        return current.prefixIndex.getOrDefault(rank.toLowerCase(), current.wildcardPrefixes);
     }
     
     /**
@@ -354,10 +467,8 @@ public class StyleConfig {
      */
     @NotNull
     public List<StyleOption> getAvailableSuffixes(@NotNull String rank) {
-        // check by rank list in each suffix
-        return suffixes.values().stream()
-            .filter(opt -> opt.isAllowedForRank(rank))
-            .collect(Collectors.toList());
+        Snapshot current = snapshot;
+        return current.suffixIndex.getOrDefault(rank.toLowerCase(), current.wildcardSuffixes);
     }
     
     /**
@@ -365,7 +476,7 @@ public class StyleConfig {
      */
     @Nullable
     public StyleOption getColour(@NotNull String id) {
-        return colours.get(id);
+        return snapshot.colours.get(id);
     }
     
     /**
@@ -373,7 +484,7 @@ public class StyleConfig {
      */
     @Nullable
     public StyleOption getPrefix(@NotNull String id) {
-        return prefixes.get(id);
+        return snapshot.prefixes.get(id);
     }
     
     /**
@@ -381,7 +492,7 @@ public class StyleConfig {
      */
     @Nullable
     public StyleOption getSuffix(@NotNull String id) {
-        return suffixes.get(id);
+        return snapshot.suffixes.get(id);
     }
     
     /**
@@ -407,21 +518,21 @@ public class StyleConfig {
      * get total colour count
      */
     public int getColourCount() {
-        return colours.size();
+        return snapshot.colours.size();
     }
     
     /**
      * get total prefix count
      */
     public int getPrefixCount() {
-        return prefixes.size();
+        return snapshot.prefixes.size();
     }
     
     /**
      * get total suffix count
      */
     public int getSuffixCount() {
-        return suffixes.size();
+        return snapshot.suffixes.size();
     }
     
     /**
@@ -430,4 +541,46 @@ public class StyleConfig {
     public void reload() {
         load();
     }
+    
+    /**
+     * parses one style file's yaml into options and rank access lists
+     */
+    @FunctionalInterface
+    private interface StyleParser {
+        void parse(@NotNull FileConfiguration config, Map<String, StyleOption> options,
+                   Map<String, List<String>> access);
+    }
+    
+    /**
+     * options and rank access parsed from one file
+     */
+    private record ParsedFile(Map<String, StyleOption> options, Map<String, List<String>> access) {
+        private static final ParsedFile EMPTY = new ParsedFile(Map.of(), Map.of());
+    }
+    
+    /**
+     * a style file as it was when last loaded
+     */
+    private record FileState(long modified, long size, long hash, ParsedFile parsed) {}
+    
+    /**
+     * everything loaded from the style files, never modified after construction
+     */
+    private record Snapshot(
+        Map<String, StyleOption> colours,
+        Map<String, StyleOption> prefixes,
+        Map<String, StyleOption> suffixes,
+        Map<String, List<String>> colourAccess,
+        Map<String, List<String>> prefixAccess,
+        Map<String, List<String>> suffixAccess,
+        Map<String, List<StyleOption>> colourIndex,
+        Map<String, List<StyleOption>> prefixIndex,
+        Map<String, List<StyleOption>> suffixIndex,
+        List<StyleOption> wildcardPrefixes,
+        List<StyleOption> wildcardSuffixes
+    ) {
+        private static final Snapshot EMPTY = new Snapshot(
+            Map.of(), Map.of(), Map.of(), Map.of(), Map.of(), Map.of(),
+            Map.of(), Map.of(), Map.of(), List.of(), List.of());
+    }
 }
\ No newline at end of file
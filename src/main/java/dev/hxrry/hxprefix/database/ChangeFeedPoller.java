@@ -0,0 +1,258 @@
+package dev.hxrry.hxprefix.database;
+
+import dev.hxrry.hxcore.utils.Log;
+
+import dev.hxrry.hxprefix.api.models.PlayerCustomization;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * incremental change feed over the players table
+ *
+ * every interval it reads the rows changed since the newest last_updated seen so
+ * far, and refreshes those entries in the cache if they're newer than what we
+ * hold. lets servers sharing one database converge without dropping the whole cache
+ *
+ * last_updated is stamped by the editing server's clock when the change is made,
+ * but the row only lands once its write-behind flush succeeds - up to the queue's
+ * worst-case retry delay later. each poll therefore re-reads an overlap window
+ * (that delay plus a clock skew margin) behind the watermark, so a row committed
+ * late with an older timestamp is still picked up. rows read again are ignored by
+ * refreshIfNewer. within a poll, pages are keyed on (last_updated, uuid) so rows
+ * sharing a millisecond are each read once
+ *
+ * the timer thread only triggers polls, the queries run on the shared I/O
+ * executor and never overlap
+ */
+public class ChangeFeedPoller {
+    private final DatabaseManager database;
+    private final DataCache cache;
+    private final Executor io;
+    private final long intervalMs;
+    private final int maxBatch;
+    private final long overlapMs;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "HxPrefix-ChangeFeed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    // newest last_updated read so far - each poll starts overlapMs before it
+    private long watermark;
+
+    // metrics
+    private final AtomicLong pollCount = new AtomicLong();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsRefreshed = new AtomicLong();
+    private volatile int lastPollRows;
+    private volatile int maxPollRows;
+    private volatile long lastLagMillis;
+    private volatile long maxLagMillis;
+
+    public ChangeFeedPoller(@NotNull DatabaseManager database, @NotNull DataCache cache,
+                            @NotNull Executor io, long intervalMs, int maxBatch, long overlapMs) {
+        this.database = database;
+        this.cache = cache;
+        this.io = io;
+        this.intervalMs = Math.max(250, intervalMs);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.overlapMs = Math.max(0, overlapMs);
+    }
+
+    /**
+     * start polling from now - older rows were loaded the normal way
+     */
+    public void start() {
+        watermark = System.currentTimeMillis();
+        scheduler.scheduleWithFixedDelay(this::requestPoll, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        Log.info("Started change feed (interval: " + intervalMs + "ms, batch: " + maxBatch +
+            ", overlap: " + overlapMs + "ms)");
+    }
+
+    /**
+     * stop polling
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * hand a poll to the I/O executor, skipping the tick if the last one is still running
+     */
+    private void requestPoll() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            io.execute(() -> {
+                try {
+                    pollSafely();
+                } finally {
+                    polling.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // I/O backlog full - try again next tick
+            polling.set(false);
+            Log.debug("I/O executor busy, change feed poll skipped");
+        }
+    }
+
+    /**
+     * poll without letting an exception escape
+     */
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception e) {
+            Log.error("Change feed poll failed", e);
+        }
+    }
+
+    /**
+     * read everything changed since the overlap window behind the watermark, a batch at a time
+     */
+    void poll() {
+        int total = 0;
+        long previous = watermark;
+        long newest = previous;
+
+        // page position - last_updated, then uuid to break ties
+        long cursor = Math.max(0, previous - overlapMs);
+        UUID cursorUuid = null;
+
+        while (true) {
+            List<PlayerCustomization> rows = database.loadPlayersUpdatedSince(cursor, cursorUuid, maxBatch);
+
+            for (PlayerCustomization row : rows) {
+                newest = Math.max(newest, row.getLastUpdated());
+                if (cache.refreshIfNewer(row)) {
+                    rowsRefreshed.incrementAndGet();
+                }
+            }
+
+            total += rows.size();
+            if (!rows.isEmpty()) {
+                PlayerCustomization last = rows.get(rows.size() - 1);
+                cursor = last.getLastUpdated();
+                cursorUuid = last.getUuid();
+            }
+
+            // a short batch means we've caught up
+            if (rows.size() < maxBatch) {
+                break;
+            }
+        }
+        watermark = newest;
+
+        pollCount.incrementAndGet();
+        rowsRead.addAndGet(total);
+        lastPollRows = total;
+        if (total > maxPollRows) {
+            maxPollRows = total;
+        }
+
+        // lag only means something when the poll found a change we hadn't seen
+        if (newest > previous) {
+            long lag = Math.max(0, System.currentTimeMillis() - newest);
+            lastLagMillis = lag;
+            if (lag > maxLagMillis) {
+                maxLagMillis = lag;
+            }
+            Log.debug("Change feed read " + total + " rows (lag " + lag + "ms)");
+        }
+    }
+
+    // ===== STATISTICS METHODS =====
+
+    /**
+     * get total number of polls run
+     */
+    public long getPollCount() {
+        return pollCount.get();
+    }
+
+    /**
+     * get total number of changed rows read, including rows read again from the overlap window
+     */
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    /**
+     * get number of cache entries replaced with newer data
+     */
+    public long getRowsRefreshed() {
+        return rowsRefreshed.get();
+    }
+
+    /**
+     * get rows read by the last poll
+     */
+    public int getLastPollRows() {
+        return lastPollRows;
+    }
+
+    /**
+     * get most rows read by a single poll
+     */
+    public int getMaxPollRows() {
+        return maxPollRows;
+    }
+
+    /**
+     * get average rows read per poll
+     */
+    public double getAverageRowsPerPoll() {
+        long polls = pollCount.get();
+        if (polls == 0) return 0;
+        return rowsRead.get() / (double) polls;
+    }
+
+    /**
+     * get delay between the newest change being written and us reading it, as of the last poll with rows
+     */
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    /**
+     * get worst lag seen
+     */
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    /**
+     * Get change feed statistics as a formatted string
+     *
+     * @return statistics summary
+     */
+    @NotNull
+    public String getStatistics() {
+        return String.format(
+            "Change feed: %d polls | Rows: %d (refreshed %d) | Rows/poll (last/avg/max): %d/%.1f/%d | Lag ms (last/max): %d/%d",
+            getPollCount(),
+            getRowsRead(),
+            getRowsRefreshed(),
+            getLastPollRows(),
+            getAverageRowsPerPoll(),
+            getMaxPollRows(),
+            getLastLagMillis(),
+            getMaxLagMillis()
+        );
+    }
+}
@@ -8,19 +8,27 @@ import dev.hxrry.hxcore.utils.Log;
 
 import dev.hxrry.hxprefix.HxPrefix;
 import dev.hxrry.hxprefix.api.models.PlayerCustomization;
+import dev.hxrry.hxprefix.database.sync.InvalidationChannel;
 
 import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.UnaryOperator;
 
 /**
  * Caching layer for player data using HxCore's CacheManager
@@ -42,12 +50,29 @@ public class DataCache {
     // Caffeine cache instance from HxCore
     private final Cache<UUID, PlayerCustomization> cache;
     
-    // Executor for async operations
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // bounded executor for blocking database calls
+    private final IoExecutor executor;
+    
+    // batched write-behind persistence
+    private final WriteBehindQueue writeQueue;
+    
+    // cross-server invalidation, null when running standalone
+    private volatile InvalidationChannel invalidationChannel;
+    
+    // incremental refresh from the shared database, null when disabled
+    private final ChangeFeedPoller changeFeed;
+    
+    // network-wide nickname -> owner, for uniqueness checks - only kept while nickname.unique is on
+    private final NicknameIndex nicknameIndex = new NicknameIndex();
+    private final boolean uniqueNicknames;
+    
+    // loads currently in flight, so concurrent misses share one query
+    private final Map<UUID, CompletableFuture<PlayerCustomization>> pendingLoads = new ConcurrentHashMap<>();
     
     public DataCache(@NotNull HxPrefix plugin, @NotNull DatabaseManager database) {
         this.plugin = plugin;
         this.database = database;
+        this.uniqueNicknames = database.isUniqueNicknames();
         
         // Get HxCore's cache manager
         CacheManager cacheManager = plugin.getCore().getCacheManager();
@@ -58,6 +83,34 @@ public class DataCache {
         
         this.cache = cacheManager.createSimpleCache("player-data", ttlMinutes, maxSize);
         
+        this.executor = new IoExecutor(
+            plugin.getConfigManager().getIoThreads(),
+            plugin.getConfigManager().getIoQueueSize(),
+            plugin.getConfigManager().isIoVirtualThreads());
+        
+        this.writeQueue = new WriteBehindQueue(database, executor,
+            plugin.getConfigManager().getWriteBatchSize(),
+            plugin.getConfigManager().getWriteFlushInterval());
+        this.writeQueue.setFlushListener(this::onBatchWritten);
+        this.writeQueue.setRejectListener(this::onBatchRejected);
+        this.writeQueue.start();
+        
+        // seed from the whole table off the main thread - a full scan, so only when it's used
+        if (uniqueNicknames) {
+            this.executor.execute(() -> nicknameIndex.seed(database));
+        }
+        
+        if (plugin.getConfigManager().isChangeFeedEnabled()) {
+            // re-read far enough back to catch writes another server is still retrying
+            this.changeFeed = new ChangeFeedPoller(database, this, executor,
+                plugin.getConfigManager().getChangeFeedInterval(),
+                plugin.getConfigManager().getChangeFeedBatchSize(),
+                writeQueue.getMaxWriteDelayMillis() + plugin.getConfigManager().getChangeFeedClockSkew());
+            this.changeFeed.start();
+        } else {
+            this.changeFeed = null;
+        }
+        
         Log.info("Initialized data cache (TTL: " + ttlMinutes + "m, Max: " + maxSize + ")");
     }
     
@@ -78,58 +131,197 @@ public class DataCache {
         
         // cache miss - load from database
         Log.debug("Cache MISS for " + uuid);
-        PlayerCustomization data = database.loadPlayerData(uuid);
+        PlayerCustomization data;
+        try {
+            data = database.loadPlayerData(uuid);
+        } catch (SQLException e) {
+            // nothing cached, the next read tries again
+            Log.error("failed to load player data for " + uuid, e);
+            return null;
+        }
         
         if (data != null) {
-            cache.put(uuid, data);
+            // keep an entry written while we were loading
+            PlayerCustomization current = cache.asMap().putIfAbsent(uuid, data);
+            if (current != null) {
+                return current;
+            }
+            indexNickname(data);
+            return data;
         }
         
-        return data;
+        return null;
+    }
+    
+    /**
+     * get player data from memory only, never touching the database on the calling thread
+     * 
+     * on a miss an async load is scheduled (or joined if one is already in flight)
+     * and null is returned straight away
+     * 
+     * @param uuid Player UUID
+     * @return PlayerCustomization or null if not cached yet
+     */
+    @Nullable
+    public PlayerCustomization getPlayerDataNonBlocking(@NotNull UUID uuid) {
+        PlayerCustomization cached = cache.getIfPresent(uuid);
+        if (cached != null) {
+            return cached;
+        }
+        
+        loadPlayer(uuid).thenAccept(data -> {
+            // remember players with no stored data so we don't query again every poll
+            if (data == null) {
+                cache.asMap().putIfAbsent(uuid, createPlayerData(uuid));
+            }
+        });
+        
+        return null;
+    }
+    
+    /**
+     * load a player's data ahead of their join, creating blank data if they have none
+     * 
+     * if the load fails the future fails too and nothing is cached, so the
+     * next call (the join) queries again rather than seeing a blank entry
+     * 
+     * @param uuid Player UUID
+     * @param username name they're logging in with
+     * @return CompletableFuture with the cached PlayerCustomization
+     */
+    @NotNull
+    public CompletableFuture<PlayerCustomization> prefetchPlayer(@NotNull UUID uuid, @NotNull String username) {
+        return loadPlayer(uuid).thenApply(data -> {
+            if (data != null) {
+                return data;
+            }
+            // nothing stored yet - cache a blank entry so join doesn't query again
+            return cache.asMap().computeIfAbsent(uuid, key -> new PlayerCustomization(key, username));
+        });
     }
     
     /**
      * get or create player data
      * 
+     * if the database can't be read a blank stand-in is returned but not cached,
+     * so the next read tries again instead of seeing the blank
+     * 
      * @param uuid Player UUID
      * @return PlayerCustomization (never null)
      */
     @NotNull
     public PlayerCustomization getOrCreatePlayerData(@NotNull UUID uuid) {
-        PlayerCustomization data = getPlayerData(uuid);
+        PlayerCustomization cached = cache.getIfPresent(uuid);
+        if (cached != null) {
+            return cached;
+        }
+        
+        PlayerCustomization stored;
+        try {
+            stored = database.loadPlayerData(uuid);
+        } catch (SQLException e) {
+            Log.error("failed to load player data for " + uuid, e);
+            return createPlayerData(uuid);
+        }
+        
+        PlayerCustomization data = stored != null ? stored : createPlayerData(uuid);
+        PlayerCustomization current = cache.asMap().putIfAbsent(uuid, data);
+        if (current != null) {
+            return current;
+        }
+        if (stored != null) {
+            indexNickname(stored);
+        }
+        return data;
+    }
+    
+    /**
+     * apply a change to a player's data and queue it for saving
+     * 
+     * the cached snapshot is swapped atomically, so concurrent updates to the
+     * same player each see the previous result and none are lost. the change
+     * may run more than once under contention, so it must have no side effects
+     * 
+     * @param uuid Player UUID
+     * @param change builds the new snapshot from the current one, e.g. d -> d.withPrefix(p)
+     * @return the snapshot now cached
+     */
+    @NotNull
+    public PlayerCustomization updatePlayerData(@NotNull UUID uuid, @NotNull UnaryOperator<PlayerCustomization> change) {
+        PlayerCustomization base = getOrCreatePlayerData(uuid);
         
-        if (data == null) {
-            // Get username from Bukkit
-            String username = Bukkit.getOfflinePlayer(uuid).getName();
-            if (username == null) {
-                username = "Unknown";
+        while (true) {
+            PlayerCustomization current = cache.asMap().putIfAbsent(uuid, base);
+            if (current == null) {
+                current = base;
             }
             
-            data = new PlayerCustomization(uuid, username);
-            cache.put(uuid, data);
+            PlayerCustomization updated = change.apply(current);
+            if (updated == current) {
+                // nothing changed - nothing to write
+                return current;
+            }
+            
+            if (cache.asMap().replace(uuid, current, updated)) {
+                indexNickname(updated);
+                writeQueue.enqueue(updated);
+                return updated;
+            }
+            // lost the race to another writer - retry against their snapshot
+        }
+    }
+    
+    /**
+     * record a player's nickname in the index, if nicknames have to be unique
+     * 
+     * the index follows every snapshot this cache sees - local changes, loads and
+     * the change feed. remote changes to players we don't hold only reach it through
+     * the change feed, invalidation messages carry uuids and not the new nickname
+     */
+    private void indexNickname(@NotNull PlayerCustomization data) {
+        if (uniqueNicknames) {
+            nicknameIndex.update(data);
+        }
+    }
+    
+    /**
+     * create fresh (unsaved, clean) data for a player
+     */
+    @NotNull
+    private PlayerCustomization createPlayerData(@NotNull UUID uuid) {
+        // Get username from Bukkit
+        String username = Bukkit.getOfflinePlayer(uuid).getName();
+        if (username == null) {
+            username = "Unknown";
         }
         
-        return data;
+        return new PlayerCustomization(uuid, username);
     }
     
     /**
      * save player data to cache and database
      * 
+     * the database write goes through the write-behind queue, so repeated
+     * saves for the same player before a flush only write the latest state
+     * 
      * @param data PlayerCustomization to save
      * @return CompletableFuture that completes when save is done
      */
     public CompletableFuture<Boolean> savePlayerData(@NotNull PlayerCustomization data) {
-        // update cache immediately
-        cache.put(data.getUuid(), data);
+        // update cache immediately, unless a newer snapshot got there first
+        PlayerCustomization saved = cache.asMap().merge(data.getUuid(), data,
+            (current, given) -> given.getLastUpdated() >= current.getLastUpdated() ? given : current);
+        indexNickname(saved);
         
-        // save to database async
-        return CompletableFuture.supplyAsync(() -> 
-            database.savePlayerData(data), executor
-        );
+        // queue the database write
+        return writeQueue.enqueue(saved);
     }
     
     /**
      * load player data asynchronously
      * 
+     * concurrent calls for the same player share a single in-flight query
+     * 
      * @param uuid Player UUID
      * @return CompletableFuture with PlayerCustomization
      */
@@ -140,14 +332,91 @@ public class DataCache {
             return CompletableFuture.completedFuture(cached);
         }
         
+        // join a load that's already running
+        CompletableFuture<PlayerCustomization> pending = pendingLoads.get(uuid);
+        if (pending != null) {
+            return pending;
+        }
+        
+        CompletableFuture<PlayerCustomization> future = new CompletableFuture<>();
+        pending = pendingLoads.putIfAbsent(uuid, future);
+        if (pending != null) {
+            return pending;
+        }
+        
         // load from database async
-        return CompletableFuture.supplyAsync(() -> {
-            PlayerCustomization data = database.loadPlayerData(uuid);
-            if (data != null) {
-                cache.put(uuid, data);
+        try {
+            executor.execute(() -> {
+                try {
+                    PlayerCustomization data = database.loadPlayerData(uuid);
+                    if (data != null) {
+                        // keep an entry written while we were loading
+                        PlayerCustomization current = cache.asMap().putIfAbsent(uuid, data);
+                        if (current != null) {
+                            data = current;
+                        } else {
+                            indexNickname(data);
+                        }
+                    }
+                    pendingLoads.remove(uuid, future);
+                    future.complete(data);
+                } catch (Throwable t) {
+                    pendingLoads.remove(uuid, future);
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingLoads.remove(uuid, future);
+            future.completeExceptionally(e);
+        }
+        
+        return future;
+    }
+    
+    /**
+     * load several players asynchronously with batched queries
+     * 
+     * players already cached are served from memory, the rest are fetched
+     * in chunks so load time grows with chunk count rather than player count
+     * 
+     * @param uuids Player UUIDs
+     * @return CompletableFuture with the data found, keyed by UUID
+     */
+    public CompletableFuture<Map<UUID, PlayerCustomization>> loadPlayers(@NotNull Collection<UUID> uuids) {
+        Map<UUID, PlayerCustomization> result = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        
+        for (UUID uuid : uuids) {
+            PlayerCustomization cached = cache.getIfPresent(uuid);
+            if (cached != null) {
+                result.put(uuid, cached);
+            } else {
+                missing.add(uuid);
             }
-            return data;
-        }, executor);
+        }
+        
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(result);
+        }
+        
+        return executor.supply(() -> {
+            Map<UUID, PlayerCustomization> loaded;
+            try {
+                loaded = database.loadPlayerDataBatch(missing);
+            } catch (SQLException e) {
+                // fail the whole load rather than report the unread players as having no data
+                throw new CompletionException(e);
+            }
+            loaded.forEach((uuid, data) -> {
+                // keep an entry written while we were loading
+                PlayerCustomization current = cache.asMap().putIfAbsent(uuid, data);
+                if (current == null) {
+                    indexNickname(data);
+                }
+                result.put(uuid, current != null ? current : data);
+            });
+            return result;
+        });
     }
     
     /**
@@ -163,47 +432,261 @@ public class DataCache {
         loadPlayer(uuid);
     }
     
+    /**
+     * replace a cached entry if the given data is newer
+     * players we don't hold are left alone, they load normally when needed,
+     * but their nickname is still indexed (while nickname.unique is on)
+     * 
+     * fields changed locally but not written yet are kept over the newer data,
+     * their write is still queued and will land on top of it
+     * 
+     * @param data freshly read player data
+     * @return true if the cached entry was replaced
+     */
+    public boolean refreshIfNewer(@NotNull PlayerCustomization data) {
+        boolean[] stale = new boolean[1];
+        PlayerCustomization[] merged = new PlayerCustomization[1];
+        cache.asMap().computeIfPresent(data.getUuid(), (uuid, current) -> {
+            if (data.getLastUpdated() > current.getLastUpdated()) {
+                merged[0] = current.isDirty() ? current.withStored(data) : data;
+                return merged[0];
+            }
+            stale[0] = true;
+            return current;
+        });
+        
+        if (merged[0] != null) {
+            indexNickname(merged[0]);
+            return true;
+        }
+        if (!stale[0]) {
+            indexNickname(data);
+        }
+        return false;
+    }
+    
+    /**
+     * connect this cache to other servers
+     * 
+     * after each write the changed players are published on the channel, and
+     * invalidations arriving from other servers drop our cached copy
+     * 
+     * @param channel channel to use, or null to run standalone
+     */
+    public void setInvalidationChannel(@Nullable InvalidationChannel channel) {
+        InvalidationChannel previous = this.invalidationChannel;
+        if (previous != null) {
+            previous.close();
+        }
+        
+        this.invalidationChannel = channel;
+        if (channel != null) {
+            channel.start(this::applyRemoteInvalidation);
+            Log.info("Cross-server cache invalidation enabled (" + channel.getName() + ")");
+        }
+    }
+    
+    /**
+     * a batch reached the database - mark the cached snapshots clean and tell other servers
+     */
+    private void onBatchWritten(@NotNull List<PlayerCustomization> written) {
+        for (PlayerCustomization data : written) {
+            // only if still cached as-is, a newer snapshot has its own write queued
+            cache.asMap().replace(data.getUuid(), data, data.withClean(data.getDirtyFields()));
+        }
+        publishInvalidations(written);
+    }
+    
+    /**
+     * writes the database refused because someone else holds the nickname
+     * 
+     * the cached nickname goes back to the stored one and stops being dirty,
+     * anything else that changed is queued again, and the player is told.
+     * players evicted in the meantime have the rest of the refused snapshot queued
+     */
+    private void onBatchRejected(@NotNull List<PlayerCustomization> rejected) {
+        for (PlayerCustomization data : rejected) {
+            UUID uuid = data.getUuid();
+            
+            String storedNickname = null;
+            try {
+                PlayerCustomization stored = database.loadPlayerData(uuid);
+                storedNickname = stored != null ? stored.getNickname() : null;
+            } catch (SQLException e) {
+                Log.error("failed to load player data for " + uuid + " - clearing their unsaved nickname", e);
+            }
+            
+            String refusedKey = DatabaseManager.nicknameKey(data.getNickname());
+            String revertTo = storedNickname;
+            PlayerCustomization reverted = cache.asMap().computeIfPresent(uuid, (key, current) ->
+                // leave it if they've picked another nickname since
+                Objects.equals(DatabaseManager.nicknameKey(current.getNickname()), refusedKey) ?
+                    current.withNickname(revertTo).withClean(PlayerCustomization.DIRTY_NICKNAME) : current);
+            
+            if (reverted == null) {
+                // evicted since it was queued - write the rest of the refused snapshot anyway
+                reverted = data.withNickname(revertTo).withClean(PlayerCustomization.DIRTY_NICKNAME);
+            }
+            indexNickname(reverted);
+            if (reverted.isDirty()) {
+                writeQueue.enqueue(reverted);
+            }
+            
+            notifyNicknameLost(uuid, data.getNickname());
+        }
+    }
+    
+    /**
+     * tell a player (if they're online) that their nickname wasn't saved
+     */
+    private void notifyNicknameLost(@NotNull UUID uuid, @Nullable String nickname) {
+        if (!plugin.isEnabled()) {
+            return;
+        }
+        
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player == null) {
+                return;
+            }
+            player.sendMessage(plugin.getConfigManager().getMessagesConfig()
+                .getComponent("nickname.lost", "{nickname}", String.valueOf(nickname)));
+            if (plugin.getPlaceholderHook() != null) {
+                plugin.getPlaceholderHook().invalidate(uuid);
+            }
+        });
+    }
+    
+    /**
+     * publish players we just wrote so other servers drop their copies
+     */
+    private void publishInvalidations(@NotNull List<PlayerCustomization> written) {
+        InvalidationChannel channel = invalidationChannel;
+        if (channel == null || written.isEmpty()) {
+            return;
+        }
+        
+        List<UUID> uuids = new ArrayList<>(written.size());
+        for (PlayerCustomization data : written) {
+            uuids.add(data.getUuid());
+        }
+        channel.publish(uuids);
+    }
+    
+    /**
+     * another server changed a player - drop our copy and refetch if they're here
+     * 
+     * a copy with unwritten local changes isn't dropped, the stored row is
+     * merged in under those changes instead
+     */
+    private void applyRemoteInvalidation(@NotNull UUID uuid) {
+        Log.debug("Remote invalidation for " + uuid);
+        
+        while (true) {
+            PlayerCustomization current = cache.getIfPresent(uuid);
+            if (current != null && current.isDirty()) {
+                mergeStored(uuid);
+                return;
+            }
+            if (current == null || cache.asMap().remove(uuid, current)) {
+                break;
+            }
+            // changed under us - look again
+        }
+        
+        if (Bukkit.getPlayer(uuid) != null) {
+            loadPlayer(uuid);
+        }
+    }
+    
+    /**
+     * re-read a player and fold the stored row into their dirty cached copy
+     */
+    private void mergeStored(@NotNull UUID uuid) {
+        try {
+            executor.execute(() -> {
+                PlayerCustomization stored;
+                try {
+                    stored = database.loadPlayerData(uuid);
+                } catch (SQLException e) {
+                    Log.error("failed to load player data for " + uuid, e);
+                    return;
+                }
+                if (stored == null) {
+                    return;
+                }
+                
+                PlayerCustomization merged = cache.asMap().computeIfPresent(uuid,
+                    (key, current) -> current.isDirty() ? current.withStored(stored) : stored);
+                if (merged != null) {
+                    indexNickname(merged);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            Log.debug("IO queue full, skipped merging remote change for " + uuid);
+        }
+    }
+    
     /**
      * save all cached data to database
+     * blocks while the writes run, so keep it off the main thread
+     * 
+     * @return number of players still waiting to be written (failed rows being retried)
      */
-    public void saveAll() {
+    public int saveAll() {
         // get all cached entries
         var allEntries = cache.asMap();
         
         if (allEntries.isEmpty()) {
             Log.debug("No cached data to save");
-            return;
+            return writeQueue.getQueueDepth();
         }
         
-        Log.info("Saving " + allEntries.size() + " cached players to database...");
-        
-        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
-        
+        // only entries changed since their last write - unchanged players cost nothing
+        int dirty = 0;
         for (PlayerCustomization data : allEntries.values()) {
-            futures.add(CompletableFuture.supplyAsync(() -> 
-                database.savePlayerData(data), executor
-            ));
+            if (data.isDirty()) {
+                writeQueue.enqueue(data);
+                dirty++;
+            }
         }
         
-        // wait for all saves to complete
-        CompletableFuture<Void> allFutures = CompletableFuture.allOf(
-            futures.toArray(new CompletableFuture[0])
-        );
+        Log.info("Saving " + dirty + " changed players to database (" + allEntries.size() + " cached)...");
         
+        // write everything now rather than waiting for the next flush
         try {
-            allFutures.get(10, TimeUnit.SECONDS);
-            Log.info("Saved all cached data successfully");
+            writeQueue.flush();
         } catch (Exception e) {
             Log.error("Failed to save some cached data", e);
         }
+        
+        int unsaved = writeQueue.getQueueDepth();
+        if (unsaved > 0) {
+            Log.warning("Could not save " + unsaved + " players yet - their writes will be retried");
+        } else {
+            Log.info("Saved all cached data successfully");
+        }
+        return unsaved;
     }
     
     /**
-     * clear the entire cache
+     * clear the cache
+     * entries with changes not written yet are kept, dropping them would lose those changes
+     * 
+     * @return number of entries kept
      */
-    public void clearCache() {
-        cache.invalidateAll();
-        Log.info("Cache cleared");
+    public int clearCache() {
+        int kept = 0;
+        for (Map.Entry<UUID, PlayerCustomization> entry : cache.asMap().entrySet()) {
+            PlayerCustomization data = entry.getValue();
+            if (data.isDirty() || !cache.asMap().remove(entry.getKey(), data)) {
+                // unwritten, or changed since we looked - keep it
+                kept++;
+            }
+        }
+        
+        Log.info("Cache cleared" + (kept > 0 ? " (kept " + kept + " players with unsaved changes)" : ""));
+        return kept;
     }
     
     /**
@@ -215,16 +698,17 @@ public class DataCache {
         // save all data before cleanup
         saveAll();
         
+        // stop the flusher and drain anything queued since
+        writeQueue.shutdown();
+        
+        // disconnect from other servers
+        setInvalidationChannel(null);
+        if (changeFeed != null) {
+            changeFeed.shutdown();
+        }
+        
         // Shutdown executor
         executor.shutdown();
-        try {
-            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
-                executor.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executor.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
         
         // clear cache
         cache.invalidateAll();
@@ -234,6 +718,44 @@ public class DataCache {
     
     // ===== STATISTICS METHODS =====
     
+    /**
+     * get the executor used for database calls
+     */
+    @NotNull
+    public IoExecutor getIoExecutor() {
+        return executor;
+    }
+    
+    /**
+     * check if a nickname is held by someone else
+     * always false while nickname.unique is off
+     * 
+     * @param nickname nickname to check
+     * @param except player allowed to hold it (usually the one asking)
+     */
+    public boolean isNicknameTaken(@NotNull String nickname, @NotNull UUID except) {
+        return uniqueNicknames && nicknameIndex.isTaken(nickname, except);
+    }
+    
+    /**
+     * get the network-wide nickname index
+     * empty while nickname.unique is off
+     */
+    @NotNull
+    public NicknameIndex getNicknameIndex() {
+        return nicknameIndex;
+    }
+    
+    /**
+     * get the change feed poller
+     * 
+     * @return poller, or null when the change feed is disabled
+     */
+    @Nullable
+    public ChangeFeedPoller getChangeFeed() {
+        return changeFeed;
+    }
+    
     /**
      * get current cache size
      * 
@@ -285,6 +807,16 @@ public class DataCache {
         return cache.stats().evictionCount();
     }
     
+    /**
+     * get the write-behind queue (for metrics)
+     * 
+     * @return write queue
+     */
+    @NotNull
+    public WriteBehindQueue getWriteQueue() {
+        return writeQueue;
+    }
+    
     /**
      * check if a player is currently cached
      * 
@@ -302,20 +834,23 @@ public class DataCache {
     public void warmUp() {
         Log.info("Warming up cache with online players...");
         
-        List<CompletableFuture<Void>> futures = new ArrayList<>();
-        
+        Map<UUID, String> online = new HashMap<>();
         for (var player : Bukkit.getOnlinePlayers()) {
-            futures.add(loadPlayer(player.getUniqueId()).thenAccept(data -> {
-                if (data == null) {
-                    // Create new data for player
-                    data = new PlayerCustomization(player.getUniqueId(), player.getName());
-                    savePlayerData(data);
-                }
-            }));
+            online.put(player.getUniqueId(), player.getName());
         }
         
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-            .thenRun(() -> Log.info("Cache warmed up with " + futures.size() + " players"));
+        loadPlayers(online.keySet()).thenAccept(loaded -> {
+            online.forEach((uuid, name) -> {
+                if (!loaded.containsKey(uuid)) {
+                    // nothing stored - cache a blank, it's only written once something changes
+                    cache.asMap().putIfAbsent(uuid, new PlayerCustomization(uuid, name));
+                }
+            });
+            Log.info("Cache warmed up with " + online.size() + " players");
+        }).exceptionally(e -> {
+            Log.error("Failed to warm up cache - players load on demand instead", e);
+            return null;
+        });
     }
     
     /**
@@ -327,12 +862,14 @@ public class DataCache {
     public String getStatistics() {
         CacheStats stats = cache.stats();
         return String.format(
-            "Cache: %d entries | Hit Rate: %.1f%% | Hits: %d | Misses: %d | Evictions: %d",
+            "Cache: %d entries | Hit Rate: %.1f%% | Hits: %d | Misses: %d | Evictions: %d | Nicknames: %d%s",
             getCacheSize(),
             getHitRate(),
             stats.hitCount(),
             stats.missCount(),
-            stats.evictionCount()
+            stats.evictionCount(),
+            nicknameIndex.size(),
+            !uniqueNicknames ? " (off)" : nicknameIndex.isSeeded() ? "" : " (seeding)"
         );
     }
 }
\ No newline at end of file
@@ -13,7 +13,19 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * handles all database operations
@@ -22,17 +34,96 @@ public class DatabaseManager {
     private final HxPrefix plugin;
     private HikariDataSource dataSource;
     private final boolean useMySQL;
+    private final String upsertSql;
+    
+    // nickname.unique, read once - nickname keys are only stored while it's on
+    private final boolean uniqueNicknames;
+    
+    // batch load timings, shown in /hxprefix stats
+    private final AtomicLong batchLoads = new AtomicLong();
+    private final AtomicLong batchLoadQueries = new AtomicLong();
+    private final AtomicLong batchLoadPlayers = new AtomicLong();
+    private final AtomicLong batchLoadNanos = new AtomicLong();
+    
+    // UPDATE text per dirty column set - at most 127 of them
+    private final Map<Integer, String> updateSqlCache = new ConcurrentHashMap<>();
     
     // table names
     private static final String PLAYERS_TABLE = "hxprefix_players";
     private static final String TAGS_TABLE = "hxprefix_tags";
+    private static final String SCHEMA_TABLE = "hxprefix_schema_version";
+    
+    // max uuids per IN (...) query - keeps well under sqlite's bound parameter limit
+    private static final int LOAD_CHUNK_SIZE = 500;
+    
+    // rows fetched per round-trip when streaming the whole table (sqlite)
+    private static final int STREAM_FETCH_SIZE = 500;
+    
+    // column order is fixed here so rows can be read by index
+    private static final String PLAYER_COLUMNS =
+        "uuid, username, nickname, name_colour, prefix, suffix, custom_tag_request, last_updated, last_nickname_change";
+    
+    private static final String SELECT_PLAYER_SQL =
+        "SELECT " + PLAYER_COLUMNS + " FROM " + PLAYERS_TABLE + " WHERE uuid = ?";
+    
+    // IN (...) widths for batch loads - a chunk uses the smallest that fits, padded with a
+    // repeated uuid, so only this many statement texts ever reach the driver's cache
+    private static final int[] LOAD_BUCKETS = {1, 8, 32, 128, LOAD_CHUNK_SIZE};
+    private static final String[] SELECT_PLAYER_BATCH_SQL = new String[LOAD_BUCKETS.length];
+    static {
+        for (int i = 0; i < LOAD_BUCKETS.length; i++) {
+            SELECT_PLAYER_BATCH_SQL[i] = "SELECT " + PLAYER_COLUMNS + " FROM " + PLAYERS_TABLE +
+                " WHERE uuid IN (" + String.join(", ", Collections.nCopies(LOAD_BUCKETS[i], "?")) + ")";
+        }
+    }
+    
+    // change feed - keyset over (last_updated, uuid) so paging through rows sharing a
+    // millisecond never skips or repeats one. the range scan on last_updated uses idx_updated
+    private static final String SELECT_UPDATED_SINCE_SQL =
+        "SELECT " + PLAYER_COLUMNS + " FROM " + PLAYERS_TABLE +
+        " WHERE last_updated >= ? AND (last_updated > ? OR uuid > ?)" +
+        " ORDER BY last_updated, uuid LIMIT ?";
+    
+    private static final String SELECT_ALL_PLAYERS_SQL =
+        "SELECT " + PLAYER_COLUMNS + " FROM " + PLAYERS_TABLE;
+    
+    private static final String MYSQL_UPSERT_SQL = """
+        INSERT INTO %s (%s)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            username = VALUES(username),
+            nickname = VALUES(nickname),
+            name_colour = VALUES(name_colour),
+            prefix = VALUES(prefix),
+            suffix = VALUES(suffix),
+            custom_tag_request = VALUES(custom_tag_request),
+            last_updated = VALUES(last_updated),
+            last_nickname_change = VALUES(last_nickname_change)
+        """.formatted(PLAYERS_TABLE, PLAYER_COLUMNS);
+    
+    private static final String SQLITE_UPSERT_SQL = """
+        INSERT OR REPLACE INTO %s (%s)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """.formatted(PLAYERS_TABLE, PLAYER_COLUMNS);
+    
+    // nickname_key is kept out of the upserts so a taken nickname fails instead of hitting another row
+    private static final String UPDATE_NICKNAME_KEY_SQL =
+        "UPDATE " + PLAYERS_TABLE + " SET nickname_key = ? WHERE uuid = ?";
+    
+    // rows copied per transaction when migrating the players table
+    private static final int MIGRATION_BATCH_SIZE = 1000;
     
     // schema version for migrations
-    private static final int CURRENT_SCHEMA_VERSION = 1;
+    // 1 - original text uuids
+    // 2 - uuids stored as 16 raw bytes
+    // 3 - unique lowercased nickname_key column
+    private static final int CURRENT_SCHEMA_VERSION = 3;
     
     public DatabaseManager(@NotNull HxPrefix plugin) {
         this.plugin = plugin;
         this.useMySQL = plugin.getConfigManager().getDatabaseType().equalsIgnoreCase("mysql");
+        this.upsertSql = useMySQL ? MYSQL_UPSERT_SQL : SQLITE_UPSERT_SQL;
+        this.uniqueNicknames = plugin.getConfigManager().isNicknameUnique();
     }
     
     /**
@@ -41,8 +132,21 @@ public class DatabaseManager {
     public boolean initialize() {
         try {
             setupDataSource();
+            
+            boolean freshInstall;
+            try (Connection conn = getConnection()) {
+                freshInstall = !tableExists(conn, PLAYERS_TABLE);
+            }
+            
             createTables();
-            runMigrations();
+            // a failed migration leaves the old layout in place - don't run against it
+            runMigrations(freshInstall);
+            
+            try {
+                syncNicknameKeys();
+            } catch (SQLException e) {
+                Log.error("Failed to sync nickname keys", e);
+            }
             
             Log.info("database initialized successfully (" + (useMySQL ? "mysql" : "sqlite") + ")");
             return true;
@@ -79,6 +183,7 @@ public class DatabaseManager {
             config.addDataSourceProperty("cachePrepStmts", "true");
             config.addDataSourceProperty("prepStmtCacheSize", "250");
             config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
             
         } else {
             // sqlite configuration
@@ -88,7 +193,7 @@ public class DatabaseManager {
         }
         
         // general hikari settings
-        config.setMaximumPoolSize(plugin.getConfig().getInt("database.pool-size", 10));
+        config.setMaximumPoolSize(plugin.getConfigManager().getDatabasePoolSize());
         config.setMinimumIdle(2);
         config.setConnectionTimeout(30000);
         config.setIdleTimeout(600000);
@@ -109,38 +214,16 @@ public class DatabaseManager {
     private void createTables() throws SQLException {
         try (Connection conn = getConnection()) {
             // players table
-            String playersTable = useMySQL ? 
-                """
-                CREATE TABLE IF NOT EXISTS %s (
-                    uuid VARCHAR(36) PRIMARY KEY,
-                    username VARCHAR(16) NOT NULL,
-                    nickname VARCHAR(16),
-                    name_colour VARCHAR(100),
-                    prefix VARCHAR(100),
-                    suffix VARCHAR(50),
-                    custom_tag_request VARCHAR(100),
-                    last_updated BIGINT NOT NULL,
-                    last_nickname_change BIGINT DEFAULT 0,
-                    INDEX idx_username (username),
-                    INDEX idx_updated (last_updated)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
-                """.formatted(PLAYERS_TABLE) :
-                """
-                CREATE TABLE IF NOT EXISTS %s (
-                    uuid TEXT PRIMARY KEY,
-                    username TEXT NOT NULL,
-                    nickname TEXT,
-                    name_colour TEXT,
-                    prefix TEXT,
-                    suffix TEXT,
-                    custom_tag_request TEXT,
-                    last_updated INTEGER NOT NULL,
-                    last_nickname_change INTEGER DEFAULT 0
-                )
-                """.formatted(PLAYERS_TABLE);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(playersTableSql(PLAYERS_TABLE));
+            }
             
+            // schema version table
             try (Statement stmt = conn.createStatement()) {
-                stmt.execute(playersTable);
+                stmt.execute(
+                    "CREATE TABLE IF NOT EXISTS " + SCHEMA_TABLE + " (" +
+                    "version INTEGER NOT NULL, applied_at BIGINT NOT NULL)"
+                );
             }
             
             // tags table
@@ -183,9 +266,7 @@ public class DatabaseManager {
             
             // create indices for sqlite
             if (!useMySQL) {
-                conn.createStatement().execute(
-                    "CREATE INDEX IF NOT EXISTS idx_username ON " + PLAYERS_TABLE + "(username)"
-                );
+                createSQLitePlayerIndices(conn);
                 conn.createStatement().execute(
                     "CREATE INDEX IF NOT EXISTS idx_player ON " + TAGS_TABLE + "(player_uuid)"
                 );
@@ -196,25 +277,448 @@ public class DatabaseManager {
         }
     }
     
+    /**
+     * players table definition (shared by table creation and migrations)
+     */
+    @NotNull
+    private String playersTableSql(@NotNull String tableName) {
+        return useMySQL ? 
+            """
+            CREATE TABLE IF NOT EXISTS %s (
+                uuid BINARY(16) PRIMARY KEY,
+                username VARCHAR(16) NOT NULL,
+                nickname VARCHAR(16),
+                name_colour VARCHAR(100),
+                prefix VARCHAR(100),
+                suffix VARCHAR(50),
+                custom_tag_request VARCHAR(100),
+                last_updated BIGINT NOT NULL,
+                last_nickname_change BIGINT DEFAULT 0,
+                nickname_key VARCHAR(16),
+                UNIQUE INDEX idx_nickname_key (nickname_key),
+                INDEX idx_username (username),
+                INDEX idx_updated (last_updated)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+            """.formatted(tableName) :
+            """
+            CREATE TABLE IF NOT EXISTS %s (
+                uuid BLOB PRIMARY KEY,
+                username TEXT NOT NULL,
+                nickname TEXT,
+                name_colour TEXT,
+                prefix TEXT,
+                suffix TEXT,
+                custom_tag_request TEXT,
+                last_updated INTEGER NOT NULL,
+                last_nickname_change INTEGER DEFAULT 0,
+                nickname_key TEXT UNIQUE
+            )
+            """.formatted(tableName);
+    }
+    
+    /**
+     * create players table indices for sqlite (index names are global there)
+     */
+    private void createSQLitePlayerIndices(@NotNull Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_username ON " + PLAYERS_TABLE + "(username)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_updated ON " + PLAYERS_TABLE + "(last_updated)");
+        }
+    }
+    
     /**
      * run database migrations
+     * 
+     * @throws SQLException if one fails - the schema is then older than this code expects
      */
-    private void runMigrations() {
+    private void runMigrations(boolean freshInstall) throws SQLException {
         Log.debug("Checking for database migrations...");
         
         try (Connection conn = getConnection()) {
-            // Check if last_nickname_change column exists
-            boolean hasColumn = checkColumnExists(conn, PLAYERS_TABLE, "last_nickname_change");
+            int version = getSchemaVersion(conn);
+            
+            if (version == 0) {
+                // tables created just now are already current, anything older predates versioning
+                version = freshInstall ? CURRENT_SCHEMA_VERSION : 1;
+                setSchemaVersion(conn, version);
+            }
+            
+            if (version < 2) {
+                // Check if last_nickname_change column exists
+                boolean hasColumn = checkColumnExists(conn, PLAYERS_TABLE, "last_nickname_change");
+                
+                if (!hasColumn) {
+                    Log.info("Running migration: Adding last_nickname_change column");
+                    addNicknameCooldownColumn(conn);
+                    Log.info("Migration completed successfully");
+                }
+                
+                Log.info("Running migration 2: Converting player uuids to binary");
+                migrateBinaryUuids(conn);
+                setSchemaVersion(conn, 2);
+                Log.info("Migration 2 completed successfully");
+            }
+            
+            if (version < 3) {
+                Log.info("Running migration 3: Adding unique nickname keys");
+                migrateNicknameKeys(conn);
+                setSchemaVersion(conn, 3);
+                Log.info("Migration 3 completed successfully");
+            }
+            
+        } catch (SQLException e) {
+            // initialize() logs the cause
+            Log.error("Failed to run migrations - not starting on a half-migrated schema");
+            throw e;
+        }
+    }
+    
+    /**
+     * get the stored schema version, or 0 if none has been recorded
+     */
+    private int getSchemaVersion(@NotNull Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM " + SCHEMA_TABLE)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+    
+    /**
+     * record a schema version as applied
+     */
+    private void setSchemaVersion(@NotNull Connection conn, int version) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO " + SCHEMA_TABLE + " (version, applied_at) VALUES (?, ?)")) {
+            stmt.setInt(1, version);
+            stmt.setLong(2, System.currentTimeMillis());
+            stmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * migration 2 - move players to a table keyed on 16-byte uuids
+     * 
+     * rows are copied into a new table in small transactions (keyset paged on
+     * the old uuid) so no single transaction holds millions of rows. rows that
+     * servers still on the old version write during that copy are picked up by
+     * a final delta pass on last_updated, run with both tables locked right
+     * before the swap.
+     * 
+     * once the swap is done those older servers can't write at all - their text
+     * uuids don't fit the new table - so they must be stopped or upgraded as soon
+     * as it finishes. let one upgraded server finish the migration before
+     * starting the others, they would otherwise each start their own copy
+     */
+    private void migrateBinaryUuids(@NotNull Connection conn) throws SQLException {
+        String newTable = PLAYERS_TABLE + "_v2";
+        String oldTable = PLAYERS_TABLE + "_legacy";
+        
+        Log.warning("Converting player uuids - servers sharing this database on an older version must be upgraded once this finishes");
+        
+        try (Statement stmt = conn.createStatement()) {
+            // leftovers from an interrupted run
+            stmt.execute("DROP TABLE IF EXISTS " + newTable);
+            stmt.execute(playersTableSql(newTable));
+        }
+        
+        String columns = "uuid, username, nickname, name_colour, prefix, suffix, " +
+            "custom_tag_request, last_updated, last_nickname_change";
+        String pageSql = "SELECT " + columns + " FROM " + PLAYERS_TABLE +
+            " WHERE uuid > ? ORDER BY uuid LIMIT " + MIGRATION_BATCH_SIZE;
+        String deltaSql = "SELECT " + columns + " FROM " + PLAYERS_TABLE + " WHERE last_updated >= ?";
+        String insertSql = "INSERT INTO " + newTable + " (" + columns + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        // the delta overwrites rows the paged copy already took
+        String upsertSql = useMySQL ?
+            MYSQL_UPSERT_SQL.replace(PLAYERS_TABLE + " (", newTable + " (") :
+            "INSERT OR REPLACE INTO " + newTable + " (" + columns + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        // anything updated from here on is copied again by the delta pass
+        long copyStart;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(last_updated) FROM " + PLAYERS_TABLE)) {
+            copyStart = rs.next() ? rs.getLong(1) : 0;
+        }
+        
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        
+        long copied = 0;
+        try (PreparedStatement select = conn.prepareStatement(pageSql);
+             PreparedStatement insert = conn.prepareStatement(insertSql)) {
+            
+            String lastUuid = "";
+            while (true) {
+                select.setString(1, lastUuid);
+                int rows;
+                
+                try (ResultSet rs = select.executeQuery()) {
+                    String[] last = new String[1];
+                    rows = copyLegacyRows(rs, insert, last);
+                    if (last[0] != null) {
+                        lastUuid = last[0];
+                    }
+                }
+                
+                if (rows == 0) {
+                    break;
+                }
+                
+                insert.executeBatch();
+                conn.commit();
+                copied += rows;
+                Log.debug("Migrated " + copied + " players...");
+            }
+            
+        } catch (SQLException e) {
+            conn.rollback();
+            conn.setAutoCommit(autoCommit);
+            throw e;
+        }
+        
+        // freeze writes, catch up on anything changed during the copy, then swap
+        try (Statement lock = conn.createStatement()) {
+            if (useMySQL) {
+                lock.execute("LOCK TABLES " + PLAYERS_TABLE + " WRITE, " + newTable + " WRITE");
+            } else {
+                // sqlite - a write transaction already shuts out every other writer
+                lock.execute("DELETE FROM " + newTable + " WHERE 0");
+            }
+            
+            int delta;
+            try (PreparedStatement select = conn.prepareStatement(deltaSql);
+                 PreparedStatement upsert = conn.prepareStatement(upsertSql)) {
+                select.setLong(1, copyStart);
+                try (ResultSet rs = select.executeQuery()) {
+                    delta = copyLegacyRows(rs, upsert, new String[1]);
+                }
+                upsert.executeBatch();
+            }
             
-            if (!hasColumn) {
-                Log.info("Running migration: Adding last_nickname_change column");
-                addNicknameCooldownColumn(conn);
-                Log.info("Migration completed successfully");
+            if (useMySQL) {
+                lock.execute("RENAME TABLE " + PLAYERS_TABLE + " TO " + oldTable + ", " +
+                    newTable + " TO " + PLAYERS_TABLE);
+                lock.execute("UNLOCK TABLES");
+                lock.execute("DROP TABLE " + oldTable);
+            } else {
+                lock.execute("ALTER TABLE " + PLAYERS_TABLE + " RENAME TO " + oldTable);
+                lock.execute("ALTER TABLE " + newTable + " RENAME TO " + PLAYERS_TABLE);
+                lock.execute("DROP TABLE " + oldTable);
+                createSQLitePlayerIndices(conn);
+            }
+            conn.commit();
+            
+            if (delta > 0) {
+                Log.info("Re-copied " + delta + " players changed during the migration");
             }
             
         } catch (SQLException e) {
-            Log.error("Failed to run migrations", e);
+            conn.rollback();
+            if (useMySQL) {
+                try (Statement unlock = conn.createStatement()) {
+                    unlock.execute("UNLOCK TABLES");
+                }
+            }
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        
+        Log.info("Converted " + copied + " players to binary uuids");
+    }
+    
+    /**
+     * add legacy (text uuid) rows from a result set to a batched insert
+     * 
+     * @param last receives the last uuid read, for keyset paging
+     * @return number of rows read
+     */
+    private int copyLegacyRows(@NotNull ResultSet rs, @NotNull PreparedStatement insert,
+                               @NotNull String[] last) throws SQLException {
+        int rows = 0;
+        while (rs.next()) {
+            rows++;
+            last[0] = rs.getString(1);
+            
+            UUID uuid;
+            try {
+                uuid = UUID.fromString(last[0]);
+            } catch (IllegalArgumentException e) {
+                Log.warning("Skipping player row with invalid uuid: " + last[0]);
+                continue;
+            }
+            
+            insert.setBytes(1, toBytes(uuid));
+            for (int column = 2; column <= 7; column++) {
+                insert.setString(column, rs.getString(column));
+            }
+            insert.setLong(8, rs.getLong(8));
+            insert.setLong(9, rs.getLong(9));
+            insert.addBatch();
+        }
+        return rows;
+    }
+    
+    /**
+     * migration 3 - add nickname_key (lowercased nickname) behind a unique index
+     * the keys themselves are filled in by syncNicknameKeys
+     */
+    private void migrateNicknameKeys(@NotNull Connection conn) throws SQLException {
+        // tables rebuilt by migration 2 already have the column and its unique index
+        if (checkColumnExists(conn, PLAYERS_TABLE, "nickname_key")) {
+            return;
+        }
+        
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + PLAYERS_TABLE + " ADD COLUMN nickname_key " +
+                (useMySQL ? "VARCHAR(16)" : "TEXT"));
+            // every key is null here, so the index can't clash
+            stmt.execute("CREATE UNIQUE INDEX idx_nickname_key ON " + PLAYERS_TABLE + " (nickname_key)");
+        }
+    }
+    
+    /**
+     * bring the stored nickname keys in line with nickname.unique
+     * 
+     * off - every key is cleared, so the unique index never rejects a write.
+     * on - nicknames without a key get one, oldest nickname change first, so
+     * when two players already share a nickname the one who took it first
+     * keeps the key. the others keep their nickname but stay unindexed until
+     * they change it
+     */
+    private void syncNicknameKeys() throws SQLException {
+        try (Connection conn = getConnection()) {
+            if (!uniqueNicknames) {
+                try (Statement stmt = conn.createStatement()) {
+                    int cleared = stmt.executeUpdate("UPDATE " + PLAYERS_TABLE +
+                        " SET nickname_key = NULL WHERE nickname_key IS NOT NULL");
+                    if (cleared > 0) {
+                        Log.info("Cleared " + cleared + " nickname keys (nickname.unique is off)");
+                    }
+                }
+                return;
+            }
+            
+            // read everything first - a streaming mysql result blocks other statements on the connection
+            Set<String> seen = new HashSet<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT nickname_key FROM " + PLAYERS_TABLE +
+                     " WHERE nickname_key IS NOT NULL")) {
+                while (rs.next()) {
+                    seen.add(rs.getString(1));
+                }
+            }
+            
+            List<byte[]> uuids = new ArrayList<>();
+            List<String> keys = new ArrayList<>();
+            int duplicates = 0;
+            
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT uuid, nickname FROM " + PLAYERS_TABLE +
+                     " WHERE nickname IS NOT NULL AND nickname_key IS NULL" +
+                     " ORDER BY last_nickname_change, last_updated")) {
+                while (rs.next()) {
+                    String key = nicknameKey(rs.getString(2));
+                    if (!seen.add(key)) {
+                        duplicates++;
+                        continue;
+                    }
+                    uuids.add(rs.getBytes(1));
+                    keys.add(key);
+                }
+            }
+            
+            if (!uuids.isEmpty()) {
+                boolean autoCommit = conn.getAutoCommit();
+                conn.setAutoCommit(false);
+                
+                try (PreparedStatement update = conn.prepareStatement(UPDATE_NICKNAME_KEY_SQL)) {
+                    for (int i = 0; i < uuids.size(); i++) {
+                        update.setString(1, keys.get(i));
+                        update.setBytes(2, uuids.get(i));
+                        update.addBatch();
+                        
+                        if ((i + 1) % MIGRATION_BATCH_SIZE == 0) {
+                            update.executeBatch();
+                            conn.commit();
+                        }
+                    }
+                    update.executeBatch();
+                    conn.commit();
+                    
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(autoCommit);
+                }
+                
+                Log.info("Indexed " + keys.size() + " nicknames");
+            }
+            
+            if (duplicates > 0) {
+                Log.warning(duplicates + " players share a nickname with someone else - left unindexed until they change it");
+            }
+        }
+    }
+    
+    /**
+     * normalize a nickname for the unique key, null stays null
+     */
+    @Nullable
+    static String nicknameKey(@Nullable String nickname) {
+        return nickname != null ? nickname.toLowerCase(Locale.ROOT) : null;
+    }
+    
+    /**
+     * the key to store for a nickname - always null while nickname.unique is off
+     */
+    @Nullable
+    private String storedNicknameKey(@Nullable String nickname) {
+        return uniqueNicknames ? nicknameKey(nickname) : null;
+    }
+    
+    /**
+     * check if nicknames are kept unique (nickname.unique, as of startup)
+     */
+    public boolean isUniqueNicknames() {
+        return uniqueNicknames;
+    }
+    
+    /**
+     * Check if a table exists
+     */
+    private boolean tableExists(@NotNull Connection conn, @NotNull String tableName) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getTables(conn.getCatalog(), null, tableName, new String[] {"TABLE"})) {
+            return rs.next();
+        }
+    }
+    
+    /**
+     * pack a uuid into 16 bytes (most significant long first)
+     */
+    static byte[] toBytes(@NotNull UUID uuid) {
+        byte[] bytes = new byte[16];
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (msb >>> (56 - i * 8));
+            bytes[i + 8] = (byte) (lsb >>> (56 - i * 8));
         }
+        return bytes;
+    }
+    
+    /**
+     * unpack a uuid from 16 bytes
+     */
+    @NotNull
+    static UUID fromBytes(@NotNull byte[] bytes) {
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = (msb << 8) | (bytes[i] & 0xFF);
+            lsb = (lsb << 8) | (bytes[i + 8] & 0xFF);
+        }
+        return new UUID(msb, lsb);
     }
     
     /**
@@ -275,84 +779,454 @@ public class DatabaseManager {
     
     /**
      * load player data from database
+     * 
+     * @return stored data, or null if the player has none
+     * @throws SQLException if the row couldn't be read - not the same as having no data
      */
     @Nullable
-    public PlayerCustomization loadPlayerData(@NotNull UUID uuid) {
-        String sql = "SELECT * FROM " + PLAYERS_TABLE + " WHERE uuid = ?";
-        
+    public PlayerCustomization loadPlayerData(@NotNull UUID uuid) throws SQLException {
         try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SELECT_PLAYER_SQL)) {
             
-            stmt.setString(1, uuid.toString());
+            stmt.setBytes(1, toBytes(uuid));
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return new PlayerCustomization(
-                        uuid,
-                        rs.getString("username"),
-                        rs.getString("nickname"),
-                        rs.getString("name_colour"),
-                        rs.getString("prefix"),
-                        rs.getString("suffix"),
-                        rs.getString("custom_tag_request"),
-                        rs.getLong("last_updated"),
-                        rs.getLong("last_nickname_change")
-                    );
+                    return mapPlayerData(rs);
+                }
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * load several players at once using chunked IN (...) queries
+     * 
+     * players with no stored data are simply absent from the result
+     * 
+     * @throws SQLException if any chunk couldn't be read - a partial result would
+     *         pass missing players off as having no data
+     */
+    @NotNull
+    public Map<UUID, PlayerCustomization> loadPlayerDataBatch(@NotNull Collection<UUID> uuids) throws SQLException {
+        Map<UUID, PlayerCustomization> result = new HashMap<>();
+        if (uuids.isEmpty()) {
+            return result;
+        }
+        
+        List<UUID> all = new ArrayList<>(uuids);
+        PreparedStatement[] statements = new PreparedStatement[LOAD_BUCKETS.length];
+        long start = System.nanoTime();
+        int queries = 0;
+        
+        try (Connection conn = getConnection()) {
+            for (int from = 0; from < all.size(); from += LOAD_CHUNK_SIZE) {
+                int to = Math.min(from + LOAD_CHUNK_SIZE, all.size());
+                
+                int bucket = 0;
+                while (LOAD_BUCKETS[bucket] < to - from) {
+                    bucket++;
+                }
+                if (statements[bucket] == null) {
+                    statements[bucket] = conn.prepareStatement(SELECT_PLAYER_BATCH_SQL[bucket]);
+                }
+                PreparedStatement stmt = statements[bucket];
+                
+                for (int i = 0; i < LOAD_BUCKETS[bucket]; i++) {
+                    // pad up to the bucket width by repeating the chunk's last uuid
+                    UUID uuid = all.get(Math.min(from + i, to - 1));
+                    stmt.setBytes(i + 1, toBytes(uuid));
+                }
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        PlayerCustomization data = mapPlayerData(rs);
+                        result.put(data.getUuid(), data);
+                    }
+                }
+                queries++;
+            }
+            
+        } finally {
+            for (PreparedStatement stmt : statements) {
+                closeQuietly(stmt);
+            }
+        }
+        
+        long elapsed = System.nanoTime() - start;
+        batchLoads.incrementAndGet();
+        batchLoadQueries.addAndGet(queries);
+        batchLoadPlayers.addAndGet(all.size());
+        batchLoadNanos.addAndGet(elapsed);
+        Log.debug("Batch loaded " + result.size() + "/" + all.size() + " players in " + queries +
+            " queries, " + (elapsed / 1_000_000) + "ms");
+        
+        return result;
+    }
+    
+    /**
+     * load players whose data changed after a (last_updated, uuid) position
+     * 
+     * pass the last row of the previous page back in to continue from it
+     * 
+     * @param since last_updated of the position
+     * @param after uuid of the position, or null to include every row at since
+     * @param limit max rows to return
+     * @return changed players, ordered by last_updated then uuid
+     */
+    @NotNull
+    public List<PlayerCustomization> loadPlayersUpdatedSince(long since, @Nullable UUID after, int limit) {
+        List<PlayerCustomization> result = new ArrayList<>();
+        
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_UPDATED_SINCE_SQL)) {
+            
+            stmt.setLong(1, since);
+            stmt.setLong(2, since);
+            // an empty blob sorts before every uuid
+            stmt.setBytes(3, after != null ? toBytes(after) : new byte[0]);
+            stmt.setInt(4, limit);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    result.add(mapPlayerData(rs));
                 }
             }
             
         } catch (SQLException e) {
-            Log.error("failed to load player data for " + uuid, e);
+            Log.error("failed to query updated players", e);
         }
         
-        return null;
+        return result;
+    }
+    
+    /**
+     * close a statement, ignoring failures
+     */
+    private static void closeQuietly(@Nullable Statement stmt) {
+        if (stmt == null) {
+            return;
+        }
+        try {
+            stmt.close();
+        } catch (SQLException ignored) {
+            // nothing useful to do
+        }
+    }
+    
+    /**
+     * Get batch load timings as a formatted string
+     *
+     * @return statistics summary
+     */
+    @NotNull
+    public String getLoadStatistics() {
+        long loads = batchLoads.get();
+        return String.format(
+            "Batch loads: %d | Queries: %d | Players: %d | Avg ms: %.2f",
+            loads,
+            batchLoadQueries.get(),
+            batchLoadPlayers.get(),
+            loads == 0 ? 0 : batchLoadNanos.get() / (double) loads / 1_000_000.0
+        );
+    }
+    
+    /**
+     * stream every stored player through a consumer without holding the table in memory
+     * 
+     * @return number of rows read, or -1 if the scan failed
+     */
+    public int forEachPlayer(@NotNull Consumer<PlayerCustomization> consumer) {
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_PLAYERS_SQL,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            // Integer.MIN_VALUE tells connector/j to stream rows one at a time
+            stmt.setFetchSize(useMySQL ? Integer.MIN_VALUE : STREAM_FETCH_SIZE);
+            
+            int count = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapPlayerData(rs));
+                    count++;
+                }
+            }
+            return count;
+            
+        } catch (SQLException e) {
+            Log.error("failed to scan player data", e);
+            return -1;
+        }
+    }
+    
+    /**
+     * map the current result set row to player data
+     * shared by every query selecting PLAYER_COLUMNS, reads by column index
+     */
+    @NotNull
+    private static PlayerCustomization mapPlayerData(@NotNull ResultSet rs) throws SQLException {
+        return new PlayerCustomization(
+            fromBytes(rs.getBytes(1)),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getString(5),
+            rs.getString(6),
+            rs.getString(7),
+            rs.getLong(8),
+            rs.getLong(9)
+        );
     }
     
     /**
      * save player data to database
      */
     public boolean savePlayerData(@NotNull PlayerCustomization data) {
-        String sql = useMySQL ?
-            """
-            INSERT INTO %s (uuid, username, nickname, name_colour, prefix, suffix, custom_tag_request, last_updated, last_nickname_change)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-            ON DUPLICATE KEY UPDATE
-                username = VALUES(username),
-                nickname = VALUES(nickname),
-                name_colour = VALUES(name_colour),
-                prefix = VALUES(prefix),
-                suffix = VALUES(suffix),
-                custom_tag_request = VALUES(custom_tag_request),
-                last_updated = VALUES(last_updated),
-                last_nickname_change = VALUES(last_nickname_change)
-            """.formatted(PLAYERS_TABLE) :
-            """
-            INSERT OR REPLACE INTO %s 
-            (uuid, username, nickname, name_colour, prefix, suffix, custom_tag_request, last_updated, last_nickname_change)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-            """.formatted(PLAYERS_TABLE);
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, data.getUuid().toString());
-            stmt.setString(2, data.getUsername());
-            stmt.setString(3, data.getNickname());
-            stmt.setString(4, data.getNameColour());
-            stmt.setString(5, data.getPrefix());
-            stmt.setString(6, data.getSuffix());
-            stmt.setString(7, data.getCustomTagRequest());
-            stmt.setLong(8, data.getLastUpdated());
-            stmt.setLong(9, data.getLastNicknameChange());
+        try (Connection conn = getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
             
-            stmt.executeUpdate();
-            return true;
+            try {
+                writeFullRows(conn, List.of(data));
+                conn.commit();
+                return true;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
             
         } catch (SQLException e) {
             Log.error("failed to save player data for " + data.getUuid(), e);
             return false;
         }
     }
+    
+    /**
+     * save several players in one batched transaction, writing only their dirty columns
+     *
+     * rows with every field dirty go through the upsert, the rest get
+     * an UPDATE of just the changed columns - grouped so each column set is one batch.
+     * an update that matches no row (a player never stored before) falls back to the upsert
+     *
+     * if the batch breaks a unique constraint (a nickname claimed elsewhere) it is
+     * retried one row at a time, so only the conflicting rows are rejected
+     *
+     * @param batch player snapshots to write, each carrying its own dirty fields
+     * @return which snapshots were written and which were rejected - anything in
+     *         neither failed and may be retried
+     */
+    @NotNull
+    public SaveResult savePlayerDataBatch(@NotNull List<PlayerCustomization> batch) {
+        if (batch.isEmpty()) {
+            return new SaveResult(batch, List.of());
+        }
+        
+        try {
+            writeBatch(batch);
+            return new SaveResult(batch, List.of());
+            
+        } catch (SQLException e) {
+            if (!isConstraintViolation(e)) {
+                Log.error("failed to save batch of " + batch.size() + " players", e);
+                return new SaveResult(List.of(), List.of());
+            }
+            if (batch.size() == 1) {
+                logNicknameTaken(batch.get(0));
+                return new SaveResult(List.of(), batch);
+            }
+        }
+        
+        Log.warning("Unique constraint failed in a batch of " + batch.size() + " players, saving one at a time");
+        List<PlayerCustomization> written = new ArrayList<>(batch.size());
+        List<PlayerCustomization> rejected = new ArrayList<>();
+        for (PlayerCustomization data : batch) {
+            try {
+                writeBatch(List.of(data));
+                written.add(data);
+            } catch (SQLException e) {
+                if (isConstraintViolation(e)) {
+                    logNicknameTaken(data);
+                    rejected.add(data);
+                } else {
+                    Log.error("failed to save player data for " + data.getUuid(), e);
+                }
+            }
+        }
+        return new SaveResult(written, rejected);
+    }
+    
+    private static void logNicknameTaken(@NotNull PlayerCustomization data) {
+        Log.warning("Nickname '" + data.getNickname() + "' for " + data.getUuid() + " is already taken, not saved");
+    }
+    
+    /**
+     * outcome of savePlayerDataBatch
+     * 
+     * @param written snapshots that reached the database
+     * @param rejected snapshots refused for a nickname someone else holds - retrying won't help
+     */
+    public record SaveResult(@NotNull List<PlayerCustomization> written,
+                             @NotNull List<PlayerCustomization> rejected) {}
+    
+    /**
+     * write rows in one transaction, rolling back on any failure
+     */
+    private void writeBatch(@NotNull List<PlayerCustomization> batch) throws SQLException {
+        List<PlayerCustomization> fullRows = new ArrayList<>();
+        Map<Integer, List<PlayerCustomization>> partialRows = new HashMap<>();
+        for (PlayerCustomization data : batch) {
+            int dirty = data.getDirtyFields();
+            if (dirty == PlayerCustomization.DIRTY_ALL) {
+                fullRows.add(data);
+            } else if (dirty != 0) {
+                partialRows.computeIfAbsent(dirty, k -> new ArrayList<>()).add(data);
+            }
+        }
+        
+        try (Connection conn = getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            
+            try {
+                for (Map.Entry<Integer, List<PlayerCustomization>> group : partialRows.entrySet()) {
+                    updateDirtyColumns(conn, group.getKey(), group.getValue(), fullRows);
+                }
+                
+                writeFullRows(conn, fullRows);
+                conn.commit();
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+    
+    /**
+     * upsert whole rows, then set their nickname keys
+     * 
+     * the key is written by uuid rather than in the upsert - a clash on the unique
+     * key must fail, not update (mysql) or replace (sqlite) the other player's row
+     */
+    private void writeFullRows(@NotNull Connection conn, @NotNull List<PlayerCustomization> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(upsertSql)) {
+            for (PlayerCustomization data : rows) {
+                bindPlayerData(stmt, data);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        
+        // keys are all null while nickname.unique is off
+        if (!uniqueNicknames) {
+            return;
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_NICKNAME_KEY_SQL)) {
+            for (PlayerCustomization data : rows) {
+                stmt.setString(1, storedNicknameKey(data.getNickname()));
+                stmt.setBytes(2, toBytes(data.getUuid()));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+    
+    /**
+     * check if a failure (or anything it wraps) is a unique/constraint violation
+     */
+    private static boolean isConstraintViolation(@NotNull SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLIntegrityConstraintViolationException) {
+                return true;
+            }
+            if (t instanceof SQLException sql) {
+                String state = sql.getSQLState();
+                // 23xxx is the standard integrity class, 19/2067 are SQLITE_CONSTRAINT(_UNIQUE)
+                if ((state != null && state.startsWith("23")) || sql.getErrorCode() == 19 || sql.getErrorCode() == 2067) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * run one batched UPDATE for rows sharing the same dirty columns
+     * rows that no longer exist are added to missing so they get upserted instead
+     */
+    private void updateDirtyColumns(@NotNull Connection conn, int dirty, @NotNull List<PlayerCustomization> rows,
+                                    @NotNull List<PlayerCustomization> missing) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(updateSql(dirty))) {
+            for (PlayerCustomization data : rows) {
+                int index = 1;
+                if ((dirty & PlayerCustomization.DIRTY_USERNAME) != 0) stmt.setString(index++, data.getUsername());
+                if ((dirty & PlayerCustomization.DIRTY_NICKNAME) != 0) {
+                    stmt.setString(index++, data.getNickname());
+                    stmt.setString(index++, storedNicknameKey(data.getNickname()));
+                }
+                if ((dirty & PlayerCustomization.DIRTY_NAME_COLOUR) != 0) stmt.setString(index++, data.getNameColour());
+                if ((dirty & PlayerCustomization.DIRTY_PREFIX) != 0) stmt.setString(index++, data.getPrefix());
+                if ((dirty & PlayerCustomization.DIRTY_SUFFIX) != 0) stmt.setString(index++, data.getSuffix());
+                if ((dirty & PlayerCustomization.DIRTY_CUSTOM_TAG) != 0) stmt.setString(index++, data.getCustomTagRequest());
+                if ((dirty & PlayerCustomization.DIRTY_NICKNAME_CHANGE) != 0) stmt.setLong(index++, data.getLastNicknameChange());
+                stmt.setLong(index++, data.getLastUpdated());
+                stmt.setBytes(index, toBytes(data.getUuid()));
+                stmt.addBatch();
+            }
+            
+            int[] counts = stmt.executeBatch();
+            for (int i = 0; i < counts.length && i < rows.size(); i++) {
+                // SUCCESS_NO_INFO (-2) means the driver didn't report - treat as written
+                if (counts[i] == 0) {
+                    missing.add(rows.get(i));
+                }
+            }
+        }
+    }
+    
+    /**
+     * get (or build) the UPDATE statement for a set of dirty columns
+     */
+    @NotNull
+    private String updateSql(int dirty) {
+        return updateSqlCache.computeIfAbsent(dirty, mask -> {
+            StringBuilder sql = new StringBuilder("UPDATE ").append(PLAYERS_TABLE).append(" SET ");
+            if ((mask & PlayerCustomization.DIRTY_USERNAME) != 0) sql.append("username = ?, ");
+            if ((mask & PlayerCustomization.DIRTY_NICKNAME) != 0) sql.append("nickname = ?, nickname_key = ?, ");
+            if ((mask & PlayerCustomization.DIRTY_NAME_COLOUR) != 0) sql.append("name_colour = ?, ");
+            if ((mask & PlayerCustomization.DIRTY_PREFIX) != 0) sql.append("prefix = ?, ");
+            if ((mask & PlayerCustomization.DIRTY_SUFFIX) != 0) sql.append("suffix = ?, ");
+            if ((mask & PlayerCustomization.DIRTY_CUSTOM_TAG) != 0) sql.append("custom_tag_request = ?, ");
+            if ((mask & PlayerCustomization.DIRTY_NICKNAME_CHANGE) != 0) sql.append("last_nickname_change = ?, ");
+            return sql.append("last_updated = ? WHERE uuid = ?").toString();
+        });
+    }
+    
+    /**
+     * bind player data to the upsert statement parameters
+     */
+    private void bindPlayerData(@NotNull PreparedStatement stmt, @NotNull PlayerCustomization data) throws SQLException {
+        stmt.setBytes(1, toBytes(data.getUuid()));
+        stmt.setString(2, data.getUsername());
+        stmt.setString(3, data.getNickname());
+        stmt.setString(4, data.getNameColour());
+        stmt.setString(5, data.getPrefix());
+        stmt.setString(6, data.getSuffix());
+        stmt.setString(7, data.getCustomTagRequest());
+        stmt.setLong(8, data.getLastUpdated());
+        stmt.setLong(9, data.getLastNicknameChange());
+    }
 
     /**
      * close database connection
@@ -0,0 +1,191 @@
+package dev.hxrry.hxprefix.database;
+
+import dev.hxrry.hxcore.utils.Log;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * bounded executor for blocking database work
+ *
+ * platform mode is sized to the connection pool, since more threads than
+ * connections just wait on hikari. virtual mode starts a virtual thread per
+ * call and lets the hikari pool limit how many actually hit the database.
+ * either way the backlog is bounded - when the database stalls, new work is
+ * rejected instead of piling up threads or memory
+ */
+public class IoExecutor implements Executor {
+    private final ExecutorService executor;
+    private final AtomicLong rejected = new AtomicLong();
+    
+    // platform mode
+    private final ThreadPoolExecutor platformPool;
+    
+    // virtual mode - permits cap calls in flight (running or waiting on a connection)
+    private final Semaphore virtualPermits;
+    private final AtomicInteger virtualActive = new AtomicInteger();
+    private final AtomicLong virtualCompleted = new AtomicLong();
+
+    public IoExecutor(int threads, int queueSize, boolean virtualThreads) {
+        int poolSize = Math.max(1, threads);
+        int backlog = Math.max(1, queueSize);
+
+        if (virtualThreads) {
+            this.platformPool = null;
+            this.virtualPermits = new Semaphore(poolSize + backlog);
+            this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("HxPrefix-IO-", 1).factory());
+            Log.info("Initialized I/O executor (virtual threads, max in flight: " + (poolSize + backlog) + ")");
+            return;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.virtualPermits = null;
+        this.platformPool = new ThreadPoolExecutor(
+            poolSize, poolSize,
+            60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(backlog),
+            r -> {
+                Thread thread = new Thread(r, "HxPrefix-IO-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            (task, pool) -> {
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException("HxPrefix I/O queue full (" + pool.getQueue().size() + " queued)");
+            });
+        this.platformPool.allowCoreThreadTimeOut(true);
+        this.executor = platformPool;
+
+        Log.info("Initialized I/O executor (threads: " + poolSize + ", queue: " + backlog + ")");
+    }
+
+    /**
+     * run a task on the I/O threads
+     *
+     * @throws RejectedExecutionException if the queue is full or we're shut down
+     */
+    @Override
+    public void execute(@NotNull Runnable task) {
+        if (virtualPermits == null) {
+            executor.execute(task);
+            return;
+        }
+
+        if (!virtualPermits.tryAcquire()) {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("HxPrefix I/O backlog full (" + virtualActive.get() + " in flight)");
+        }
+
+        try {
+            executor.execute(() -> {
+                virtualActive.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    virtualActive.decrementAndGet();
+                    virtualCompleted.incrementAndGet();
+                    virtualPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            virtualPermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * run a blocking call on the I/O threads
+     *
+     * @return future with the result, failed straight away if the task was rejected
+     */
+    @NotNull
+    public <T> CompletableFuture<T> supply(@NotNull Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, this);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * stop accepting work and wait for running tasks to finish
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== STATISTICS METHODS =====
+
+    /**
+     * get number of tasks currently running
+     */
+    public int getActiveCount() {
+        return platformPool != null ? platformPool.getActiveCount() : virtualActive.get();
+    }
+
+    /**
+     * get number of tasks waiting for a thread (always 0 with virtual threads)
+     */
+    public int getQueuedCount() {
+        return platformPool != null ? platformPool.getQueue().size() : 0;
+    }
+
+    /**
+     * get total number of tasks finished
+     */
+    public long getCompletedCount() {
+        return platformPool != null ? platformPool.getCompletedTaskCount() : virtualCompleted.get();
+    }
+
+    /**
+     * check if calls run on virtual threads
+     */
+    public boolean isVirtual() {
+        return platformPool == null;
+    }
+
+    /**
+     * get total number of tasks rejected because the queue was full
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Get executor statistics as a formatted string
+     *
+     * @return statistics summary
+     */
+    @NotNull
+    public String getStatistics() {
+        return String.format(
+            "I/O executor (%s): %d active | %d queued | %d rejected | %d completed",
+            isVirtual() ? "virtual" : "platform",
+            getActiveCount(),
+            getQueuedCount(),
+            getRejectedCount(),
+            getCompletedCount()
+        );
+    }
+}
@@ -0,0 +1,149 @@
+package dev.hxrry.hxprefix.database;
+
+import dev.hxrry.hxcore.utils.Log;
+
+import dev.hxrry.hxprefix.api.models.PlayerCustomization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * case-insensitive nickname -> owner index covering online and offline players
+ *
+ * seeded from a streaming scan of the players table at startup, then kept
+ * current as DataCache swaps in new snapshots (local changes, loads and the
+ * change feed). lookups are a single map read from any thread
+ *
+ * only used while nickname.unique is on. another server's change to a player
+ * this one doesn't hold only shows up here through the change feed - invalidation
+ * messages carry just the uuid - so without the feed those entries stay as
+ * they were until the player is loaded
+ */
+public class NicknameIndex {
+
+    // nickname key -> owner
+    private final Map<String, UUID> owners = new ConcurrentHashMap<>();
+
+    // owner -> their current key, so a change can drop the old one
+    private final Map<UUID, String> keys = new ConcurrentHashMap<>();
+
+    private volatile boolean seeded;
+
+    /**
+     * fill the index from every stored player
+     * players already indexed by a live update keep their newer entry
+     *
+     * @param database database to scan
+     */
+    public void seed(@NotNull DatabaseManager database) {
+        long start = System.currentTimeMillis();
+        int[] indexed = new int[1];
+
+        int scanned = database.forEachPlayer(data -> {
+            String key = DatabaseManager.nicknameKey(data.getNickname());
+            if (key == null) {
+                return;
+            }
+            synchronized (this) {
+                if (keys.containsKey(data.getUuid()) || owners.containsKey(key)) {
+                    return;
+                }
+                owners.put(key, data.getUuid());
+                keys.put(data.getUuid(), key);
+                indexed[0]++;
+            }
+        });
+
+        if (scanned < 0) {
+            Log.warning("Nickname index seed failed - uniqueness only covers loaded players");
+            return;
+        }
+
+        seeded = true;
+        Log.info("Indexed " + indexed[0] + " nicknames from " + scanned + " players in " +
+            (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * record a player's current nickname from a snapshot
+     *
+     * @param data latest known data for the player
+     * @return false if someone else already holds the nickname
+     */
+    public boolean update(@NotNull PlayerCustomization data) {
+        return update(data.getUuid(), data.getNickname());
+    }
+
+    /**
+     * record a player's current nickname
+     * a key another player already holds is never taken over - the first owner
+     * keeps it until they change or drop it
+     *
+     * @param uuid the player
+     * @param nickname their nickname, or null if they have none
+     * @return false if someone else already holds the nickname
+     */
+    public synchronized boolean update(@NotNull UUID uuid, @Nullable String nickname) {
+        String key = DatabaseManager.nicknameKey(nickname);
+        String previous = keys.get(uuid);
+        if (key != null && key.equals(previous)) {
+            return true;
+        }
+
+        // let go of the old key
+        if (previous != null) {
+            keys.remove(uuid);
+            owners.remove(previous, uuid);
+        }
+        if (key == null) {
+            return true;
+        }
+
+        UUID owner = owners.putIfAbsent(key, uuid);
+        if (owner != null && !owner.equals(uuid)) {
+            return false;
+        }
+        keys.put(uuid, key);
+        return true;
+    }
+
+    /**
+     * get who owns a nickname, ignoring case
+     *
+     * @param nickname nickname to look up
+     * @return owner or null if nobody has it
+     */
+    @Nullable
+    public UUID getOwner(@NotNull String nickname) {
+        return owners.get(DatabaseManager.nicknameKey(nickname));
+    }
+
+    /**
+     * check if a nickname belongs to anyone other than the given player
+     *
+     * @param nickname nickname to check
+     * @param except player allowed to hold it (usually the one asking)
+     */
+    public boolean isTaken(@NotNull String nickname, @NotNull UUID except) {
+        UUID owner = getOwner(nickname);
+        return owner != null && !owner.equals(except);
+    }
+
+    /**
+     * check if the startup scan finished
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * get number of indexed nicknames
+     */
+    public int size() {
+        return owners.size();
+    }
+}
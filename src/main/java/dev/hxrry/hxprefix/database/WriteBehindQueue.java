@@ -0,0 +1,497 @@
+package dev.hxrry.hxprefix.database;
+
+import dev.hxrry.hxcore.utils.Log;
+
+import dev.hxrry.hxprefix.api.models.PlayerCustomization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * write-behind queue for player data
+ *
+ * changes are coalesced per player so only the latest state gets written,
+ * and are flushed as one JDBC batch when the queue reaches the batch size
+ * or the flush interval passes - whichever comes first
+ *
+ * rows that fail to write stay queued and are retried with backoff, so a
+ * database blip doesn't lose the edits of players who are still online
+ *
+ * the timer thread only decides when to flush - the writes themselves run on
+ * the shared I/O executor, so they count against the same bounded pool
+ */
+public class WriteBehindQueue {
+    // attempts before a row is given up on, and the cap on the wait between them
+    private static final int MAX_ATTEMPTS = 8;
+    private static final long MAX_BACKOFF_MS = 60_000;
+
+    private final DatabaseManager database;
+    private final Executor io;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    // latest pending state per player
+    private final Map<UUID, PendingWrite> pending = new ConcurrentHashMap<>();
+
+    // ticks the flush interval - flushes run on the I/O executor, one at a time under
+    // flushLock, so batches for the same player never overtake each other
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "HxPrefix-WriteBehind");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private volatile boolean shutDown;
+
+    // told which snapshots were written after each successful batch
+    private volatile Consumer<List<PlayerCustomization>> flushListener;
+    
+    // told which snapshots the database refused (nickname taken) - those are never retried
+    private volatile Consumer<List<PlayerCustomization>> rejectListener;
+
+    // metrics
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private final AtomicLong droppedRows = new AtomicLong();
+    private final AtomicLong rejectedRows = new AtomicLong();
+    private final AtomicLong skippedRows = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+
+    public WriteBehindQueue(@NotNull DatabaseManager database, @NotNull Executor io,
+                            int batchSize, long flushIntervalMs) {
+        this.database = database;
+        this.io = io;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(50, flushIntervalMs);
+    }
+
+    /**
+     * start the periodic flush
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::requestFlush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        Log.info("Initialized write-behind queue (batch: " + batchSize + ", interval: " + flushIntervalMs + "ms)");
+    }
+
+    /**
+     * set a listener told which snapshots each successful batch wrote
+     *
+     * @param listener called on the I/O thread that ran the flush, or null to remove
+     */
+    public void setFlushListener(@Nullable Consumer<List<PlayerCustomization>> listener) {
+        this.flushListener = listener;
+    }
+
+    /**
+     * set a listener told which snapshots the database rejected for a taken nickname
+     *
+     * @param listener called on the I/O thread that ran the flush, or null to remove
+     */
+    public void setRejectListener(@Nullable Consumer<List<PlayerCustomization>> listener) {
+        this.rejectListener = listener;
+    }
+
+    /**
+     * queue a player's data to be written
+     *
+     * @param data PlayerCustomization to write
+     * @return CompletableFuture that completes when the batch holding this write is flushed
+     */
+    @NotNull
+    public CompletableFuture<Boolean> enqueue(@NotNull PlayerCustomization data) {
+        PendingWrite write = pending.compute(data.getUuid(), (uuid, existing) -> {
+            if (existing == null) {
+                return new PendingWrite(data);
+            }
+            // coalesce - keep the newest state, callers share the same future
+            existing.data = data;
+            return existing;
+        });
+
+        if (shutDown) {
+            // no flusher any more - write straight away
+            flush();
+            return write.future;
+        }
+
+        if (pending.size() >= batchSize) {
+            requestFlush();
+        }
+
+        return write.future;
+    }
+
+    /**
+     * hand a flush to the I/O executor, unless one is already waiting there
+     */
+    private void requestFlush() {
+        if (!flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            io.execute(() -> {
+                flushRequested.set(false);
+                flushSafely();
+            });
+        } catch (RejectedExecutionException e) {
+            // I/O backlog full - rows stay queued for the next tick
+            flushRequested.set(false);
+            Log.debug("I/O executor busy, write-behind flush deferred");
+        }
+    }
+
+    /**
+     * write everything currently queued, including rows waiting to be retried
+     *
+     * @return number of rows written
+     */
+    public int flush() {
+        return flush(true);
+    }
+
+    /**
+     * write queued rows, each attempted at most once per call
+     *
+     * @param includeBackoff also take rows still waiting out a retry backoff
+     * @return number of rows written
+     */
+    private int flush(boolean includeBackoff) {
+        synchronized (flushLock) {
+            int written = 0;
+            Set<PendingWrite> attempted = Collections.newSetFromMap(new IdentityHashMap<>());
+
+            while (true) {
+                long now = System.currentTimeMillis();
+                List<PendingWrite> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+                for (Map.Entry<UUID, PendingWrite> entry : pending.entrySet()) {
+                    PendingWrite write = entry.getValue();
+                    if (attempted.contains(write) || (!includeBackoff && write.retryAt > now)) {
+                        continue;
+                    }
+                    if (pending.remove(entry.getKey(), write)) {
+                        batch.add(write);
+                        attempted.add(write);
+                    }
+                    if (batch.size() >= batchSize) {
+                        break;
+                    }
+                }
+
+                if (batch.isEmpty()) {
+                    break;
+                }
+                written += writeBatch(batch);
+            }
+
+            return written;
+        }
+    }
+
+    /**
+     * periodic flush, logging rather than throwing
+     */
+    private void flushSafely() {
+        try {
+            flush(false);
+        } catch (Exception e) {
+            Log.error("Write-behind flush failed", e);
+        }
+    }
+
+    /**
+     * write one batch and complete its futures
+     */
+    private int writeBatch(@NotNull List<PendingWrite> batch) {
+        List<PlayerCustomization> rows = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            // snapshots are immutable, so this is exactly the state and dirty set that gets written
+            if (write.data.isDirty()) {
+                rows.add(write.data);
+            }
+        }
+
+        // nothing changed since the last write - no round trip at all
+        if (rows.isEmpty()) {
+            skippedRows.addAndGet(batch.size());
+            for (PendingWrite write : batch) {
+                write.future.complete(true);
+            }
+            return 0;
+        }
+        skippedRows.addAndGet(batch.size() - rows.size());
+
+        long start = System.nanoTime();
+        DatabaseManager.SaveResult result;
+        try {
+            result = database.savePlayerDataBatch(rows);
+        } catch (RuntimeException e) {
+            // the rows are already out of pending - treat it like a failed batch so they're retried
+            Log.error("Write-behind batch of " + rows.size() + " players failed", e);
+            result = new DatabaseManager.SaveResult(List.of(), List.of());
+        }
+        List<PlayerCustomization> written = result.written();
+        List<PlayerCustomization> rejected = result.rejected();
+        long elapsed = System.nanoTime() - start;
+
+        flushCount.incrementAndGet();
+        totalFlushNanos.addAndGet(elapsed);
+        lastFlushNanos = elapsed;
+        if (elapsed > maxFlushNanos) {
+            maxFlushNanos = elapsed;
+        }
+
+        rowsWritten.addAndGet(written.size());
+        rejectedRows.addAndGet(rejected.size());
+        failedRows.addAndGet(rows.size() - written.size() - rejected.size());
+
+        // a conflicting row can fail on its own while the rest of the batch lands
+        Set<PlayerCustomization> succeeded = Collections.newSetFromMap(new IdentityHashMap<>());
+        succeeded.addAll(written);
+        Set<PlayerCustomization> refused = Collections.newSetFromMap(new IdentityHashMap<>());
+        refused.addAll(rejected);
+        for (PendingWrite write : batch) {
+            if (!write.data.isDirty() || succeeded.contains(write.data)) {
+                write.future.complete(true);
+            } else if (refused.contains(write.data)) {
+                // the same row would be refused again - the listener sorts it out
+                write.future.complete(false);
+            } else {
+                retryLater(write);
+            }
+        }
+
+        Consumer<List<PlayerCustomization>> listener = flushListener;
+        if (!written.isEmpty() && listener != null) {
+            try {
+                listener.accept(written);
+            } catch (Exception e) {
+                Log.error("Write-behind flush listener failed", e);
+            }
+        }
+
+        Consumer<List<PlayerCustomization>> onReject = rejectListener;
+        if (!rejected.isEmpty() && onReject != null) {
+            try {
+                onReject.accept(rejected);
+            } catch (Exception e) {
+                Log.error("Write-behind reject listener failed", e);
+            }
+        }
+
+        Log.debug("Flushed " + written.size() + "/" + rows.size() + " players in " + (elapsed / 1_000_000) + "ms");
+        return written.size();
+    }
+
+    /**
+     * put a failed write back in the queue with exponential backoff, or give up on it
+     */
+    private void retryLater(@NotNull PendingWrite write) {
+        write.attempts++;
+        if (write.attempts >= MAX_ATTEMPTS) {
+            droppedRows.incrementAndGet();
+            Log.error("Giving up writing " + write.data.getUuid() + " after " + write.attempts + " attempts");
+            write.future.complete(false);
+            return;
+        }
+
+        long backoff = backoff(write.attempts);
+        write.retryAt = System.currentTimeMillis() + backoff;
+
+        pending.compute(write.data.getUuid(), (uuid, newer) -> {
+            if (newer == null) {
+                return write;
+            }
+            // a newer snapshot was queued meanwhile - it carries these dirty fields too
+            newer.future.whenComplete((ok, error) -> write.future.complete(ok != null && ok));
+            return newer;
+        });
+    }
+
+    /**
+     * wait before the next attempt after this many failed ones
+     */
+    private long backoff(int attempts) {
+        return Math.min(MAX_BACKOFF_MS, flushIntervalMs << Math.min(attempts, 16));
+    }
+
+    /**
+     * get the longest a change can wait between being queued and its last write attempt -
+     * one flush interval plus every retry backoff
+     */
+    public long getMaxWriteDelayMillis() {
+        long delay = flushIntervalMs;
+        for (int attempts = 1; attempts < MAX_ATTEMPTS; attempts++) {
+            delay += backoff(attempts);
+        }
+        return delay;
+    }
+
+    /**
+     * stop the flusher and drain everything still queued
+     * later enqueues are written straight away on the calling thread
+     */
+    public void shutdown() {
+        shutDown = true;
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        int written = flush();
+        if (written > 0) {
+            Log.info("Drained " + written + " queued writes");
+        }
+
+        // whatever failed its final attempt above is lost
+        if (!pending.isEmpty()) {
+            Log.error("Could not write " + pending.size() + " players before shutdown");
+            for (UUID uuid : pending.keySet()) {
+                PendingWrite write = pending.remove(uuid);
+                if (write != null) {
+                    droppedRows.incrementAndGet();
+                    write.future.complete(false);
+                }
+            }
+        }
+    }
+
+    // ===== STATISTICS METHODS =====
+
+    /**
+     * get number of players waiting to be written
+     */
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    /**
+     * get total number of batches flushed
+     */
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    /**
+     * get number of rows refused for a taken nickname
+     */
+    public long getRejectedRows() {
+        return rejectedRows.get();
+    }
+
+    /**
+     * get total number of rows written
+     */
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    /**
+     * get total number of rows in failed batches
+     */
+    public long getFailedRows() {
+        return failedRows.get();
+    }
+
+    /**
+     * get total number of rows given up on after repeated failures
+     */
+    public long getDroppedRows() {
+        return droppedRows.get();
+    }
+
+    /**
+     * get total number of queued rows skipped because nothing had changed
+     */
+    public long getSkippedRows() {
+        return skippedRows.get();
+    }
+
+    /**
+     * get duration of the last flush in milliseconds
+     */
+    public double getLastFlushMillis() {
+        return lastFlushNanos / 1_000_000.0;
+    }
+
+    /**
+     * get slowest flush in milliseconds
+     */
+    public double getMaxFlushMillis() {
+        return maxFlushNanos / 1_000_000.0;
+    }
+
+    /**
+     * get average flush duration in milliseconds
+     */
+    public double getAverageFlushMillis() {
+        long count = flushCount.get();
+        if (count == 0) return 0;
+        return (totalFlushNanos.get() / (double) count) / 1_000_000.0;
+    }
+
+    /**
+     * Get queue statistics as a formatted string
+     *
+     * @return statistics summary
+     */
+    @NotNull
+    public String getStatistics() {
+        return String.format(
+            "Write queue: %d pending | Flushes: %d | Rows: %d | Skipped: %d | Failed: %d | Rejected: %d | Dropped: %d | Flush ms (last/avg/max): %.1f/%.1f/%.1f",
+            getQueueDepth(),
+            getFlushCount(),
+            getRowsWritten(),
+            getSkippedRows(),
+            getFailedRows(),
+            getRejectedRows(),
+            getDroppedRows(),
+            getLastFlushMillis(),
+            getAverageFlushMillis(),
+            getMaxFlushMillis()
+        );
+    }
+
+    /**
+     * a queued write, shared by every change coalesced into it
+     */
+    private static final class PendingWrite {
+        private volatile PlayerCustomization data;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        // failed attempts so far and when the next one may run
+        private int attempts;
+        private volatile long retryAt;
+
+        private PendingWrite(@NotNull PlayerCustomization data) {
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package dev.hxrry.hxprefix.database.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * carries player-level cache invalidations between servers
+ *
+ * a server publishes the uuids of each batch it writes, and every other
+ * server on the channel drops its cached copies so the next read comes
+ * from the database
+ */
+public interface InvalidationChannel {
+
+    /**
+     * start listening for invalidations from other servers
+     *
+     * @param listener called with each invalidated uuid (may be off the main thread)
+     */
+    void start(@NotNull Consumer<UUID> listener);
+
+    /**
+     * tell other servers some players' data changed
+     * the whole batch is sent together rather than one message per player
+     *
+     * @param uuids Player UUIDs
+     */
+    void publish(@NotNull Collection<UUID> uuids);
+
+    /**
+     * stop listening and release resources
+     */
+    void close();
+
+    /**
+     * name used in logs
+     */
+    @NotNull
+    String getName();
+}
@@ -0,0 +1,71 @@
+package dev.hxrry.hxprefix.database.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * in-process invalidation channel
+ *
+ * channels sharing a hub behave like servers on one network, without any
+ * network in between - useful for testing and for embedding several caches
+ * in one jvm. messages are delivered on the publishing thread
+ */
+public class LoopbackInvalidationChannel implements InvalidationChannel {
+    private final Hub hub;
+    private volatile Consumer<UUID> listener;
+
+    public LoopbackInvalidationChannel(@NotNull Hub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void start(@NotNull Consumer<UUID> listener) {
+        this.listener = listener;
+        hub.members.add(this);
+    }
+
+    @Override
+    public void publish(@NotNull Collection<UUID> uuids) {
+        for (LoopbackInvalidationChannel member : hub.members) {
+            // like a real network, the sender doesn't hear its own message
+            Consumer<UUID> target = member.listener;
+            if (member == this || target == null) {
+                continue;
+            }
+            for (UUID uuid : uuids) {
+                target.accept(uuid);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        hub.members.remove(this);
+        listener = null;
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        return "loopback";
+    }
+
+    /**
+     * the shared "network" loopback channels publish through
+     */
+    public static final class Hub {
+        private final Set<LoopbackInvalidationChannel> members = new CopyOnWriteArraySet<>();
+
+        /**
+         * get number of channels currently connected
+         */
+        public int size() {
+            return members.size();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package dev.hxrry.hxprefix.database.sync;
+
+import dev.hxrry.hxcore.utils.Log;
+
+import dev.hxrry.hxprefix.HxPrefix;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * invalidation channel using plugin messaging through the proxy
+ *
+ * messages go out as a BungeeCord "Forward" to ALL servers, which velocity
+ * supports when bungee-plugin-message-channel is enabled. a plugin message
+ * needs a player connection to travel over, which is fine - a change worth
+ * publishing always comes from a server with someone online
+ */
+public class PluginMessageInvalidationChannel implements InvalidationChannel, PluginMessageListener {
+    private static final String CHANNEL = "BungeeCord";
+    private static final String SUBCHANNEL = "HxPrefixInvalidateBatch";
+
+    // forward payloads are length-prefixed with a short - 1024 uuids keeps well under 32k
+    private static final int MAX_UUIDS_PER_MESSAGE = 1024;
+
+    private final HxPrefix plugin;
+
+    // identifies this server so our own forwarded messages are ignored
+    private final UUID nodeId = UUID.randomUUID();
+    private volatile Consumer<UUID> listener;
+
+    public PluginMessageInvalidationChannel(@NotNull HxPrefix plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void start(@NotNull Consumer<UUID> listener) {
+        this.listener = listener;
+        plugin.getServer().getMessenger().registerOutgoingPluginChannel(plugin, CHANNEL);
+        plugin.getServer().getMessenger().registerIncomingPluginChannel(plugin, CHANNEL, this);
+    }
+
+    @Override
+    public void publish(@NotNull Collection<UUID> uuids) {
+        if (!plugin.isEnabled() || uuids.isEmpty()) {
+            return;
+        }
+
+        List<byte[]> messages = encode(uuids);
+        // plugin messages are sent from the main thread
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            Player carrier = Bukkit.getOnlinePlayers().stream().findFirst().orElse(null);
+            if (carrier == null) {
+                Log.debug("No player online to carry invalidation for " + uuids.size() + " players");
+                return;
+            }
+            for (byte[] message : messages) {
+                carrier.sendPluginMessage(plugin, CHANNEL, message);
+            }
+        });
+    }
+
+    @Override
+    public void onPluginMessageReceived(@NotNull String channel, @NotNull Player player, byte[] message) {
+        if (!CHANNEL.equals(channel) || listener == null) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message))) {
+            if (!SUBCHANNEL.equals(in.readUTF())) {
+                return;
+            }
+
+            byte[] payload = new byte[in.readShort()];
+            in.readFully(payload);
+
+            try (DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload))) {
+                UUID sender = new UUID(data.readLong(), data.readLong());
+                if (sender.equals(nodeId)) {
+                    return;
+                }
+
+                int count = data.readUnsignedShort();
+                for (int i = 0; i < count; i++) {
+                    listener.accept(new UUID(data.readLong(), data.readLong()));
+                }
+            }
+
+        } catch (IOException e) {
+            Log.debug("Ignoring malformed invalidation message: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        listener = null;
+        plugin.getServer().getMessenger().unregisterIncomingPluginChannel(plugin, CHANNEL, this);
+        plugin.getServer().getMessenger().unregisterOutgoingPluginChannel(plugin, CHANNEL);
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        return "plugin-message";
+    }
+
+    /**
+     * build Forward messages carrying our node id and the player uuids
+     * one message unless the batch is too big for a single payload
+     */
+    @NotNull
+    private List<byte[]> encode(@NotNull Collection<UUID> uuids) {
+        List<byte[]> messages = new ArrayList<>(1 + uuids.size() / MAX_UUIDS_PER_MESSAGE);
+        Iterator<UUID> it = uuids.iterator();
+        int remaining = uuids.size();
+
+        try {
+            while (it.hasNext()) {
+                int count = Math.min(MAX_UUIDS_PER_MESSAGE, remaining);
+                remaining -= count;
+
+                ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(18 + 16 * count);
+                DataOutputStream payload = new DataOutputStream(payloadBytes);
+                payload.writeLong(nodeId.getMostSignificantBits());
+                payload.writeLong(nodeId.getLeastSignificantBits());
+                payload.writeShort(count);
+                for (int i = 0; i < count; i++) {
+                    UUID uuid = it.next();
+                    payload.writeLong(uuid.getMostSignificantBits());
+                    payload.writeLong(uuid.getLeastSignificantBits());
+                }
+
+                ByteArrayOutputStream messageBytes = new ByteArrayOutputStream(payloadBytes.size() + 48);
+                DataOutputStream message = new DataOutputStream(messageBytes);
+                message.writeUTF("Forward");
+                message.writeUTF("ALL");
+                message.writeUTF(SUBCHANNEL);
+                message.writeShort(payloadBytes.size());
+                message.write(payloadBytes.toByteArray());
+                messages.add(messageBytes.toByteArray());
+            }
+            return messages;
+
+        } catch (IOException e) {
+            // can't happen writing to a byte array
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package dev.hxrry.hxprefix.display;
+
+import dev.hxrry.hxprefix.HxPrefix;
+import dev.hxrry.hxprefix.api.events.ColourChangeEvent;
+import dev.hxrry.hxprefix.api.events.NicknameChangeEvent;
+import dev.hxrry.hxprefix.api.events.PrefixChangeEvent;
+import dev.hxrry.hxprefix.api.events.SuffixChangeEvent;
+import dev.hxrry.hxprefix.api.models.PlayerCustomization;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * central cache of built display names, one per online player
+ *
+ * chat, the api and placeholders all read from here instead of rebuilding
+ * prefix + coloured name + suffix on every call. entries are dropped when a
+ * change event completes, on quit and on style reload - and are also checked
+ * against the values they were built from, since change events fire before
+ * the new value is stored
+ */
+public class DisplayCache implements Listener {
+    private final HxPrefix plugin;
+    private final MiniMessage mm = MiniMessage.miniMessage();
+    private final LegacyComponentSerializer legacy = LegacyComponentSerializer.legacyAmpersand();
+    private final PlainTextComponentSerializer plain = PlainTextComponentSerializer.plainText();
+
+    private final Map<UUID, DisplayName> entries = new ConcurrentHashMap<>();
+
+    public DisplayCache(@NotNull HxPrefix plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * get a player's display name, building it if needed
+     *
+     * @param player The player
+     * @param data their customization data, or null to show the plain username
+     */
+    @NotNull
+    public DisplayName get(@NotNull Player player, @Nullable PlayerCustomization data) {
+        String name = player.getName();
+        String nickname = data != null ? data.getNickname() : null;
+        String nameColour = data != null ? data.getNameColour() : null;
+        String prefix = data != null ? data.getPrefix() : null;
+        String suffix = data != null ? data.getSuffix() : null;
+
+        DisplayName cached = entries.get(player.getUniqueId());
+        if (cached != null && cached.matches(name, nickname, nameColour, prefix, suffix)) {
+            return cached;
+        }
+
+        DisplayName built = build(name, nickname, nameColour, prefix, suffix);
+        entries.put(player.getUniqueId(), built);
+        return built;
+    }
+
+    /**
+     * drop a player's entry
+     */
+    public void invalidate(@NotNull UUID uuid) {
+        entries.remove(uuid);
+    }
+
+    /**
+     * drop every entry - called when styles are reloaded
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * build every form of a display name from its parts
+     */
+    @NotNull
+    private DisplayName build(@NotNull String name, @Nullable String nickname, @Nullable String nameColour,
+                              @Nullable String prefix, @Nullable String suffix) {
+        String shownName = nickname != null ? nickname : name;
+
+        // coloured name
+        String formattedName = nameColour != null
+            ? plugin.getConfigManager().getStyleConfig().formatWithColour(nameColour, shownName)
+            : shownName;
+        Component nameComponent = nameColour != null
+            ? mm.deserialize(formattedName)
+            : Component.text(shownName, NamedTextColor.WHITE);
+        String formattedNameLegacy = nameColour != null ? legacy.serialize(nameComponent) : shownName;
+
+        // prefix + name + suffix
+        Component component = Component.empty();
+        StringBuilder miniMessage = new StringBuilder();
+        StringBuilder legacyText = new StringBuilder();
+        StringBuilder plainText = new StringBuilder();
+
+        if (prefix != null) {
+            Component prefixComponent = mm.deserialize(prefix);
+            component = component.append(prefixComponent).append(Component.space());
+            miniMessage.append(prefix).append(' ');
+            legacyText.append(legacy.serialize(prefixComponent)).append(' ');
+            plainText.append(plain.serialize(prefixComponent)).append(' ');
+        }
+
+        component = component.append(nameComponent);
+        miniMessage.append(formattedName);
+        legacyText.append(formattedNameLegacy);
+        plainText.append(shownName);
+
+        if (suffix != null) {
+            Component suffixComponent = mm.deserialize(suffix);
+            component = component.append(Component.space()).append(suffixComponent);
+            miniMessage.append(' ').append(suffix);
+            legacyText.append(' ').append(legacy.serialize(suffixComponent));
+            plainText.append(' ').append(plain.serialize(suffixComponent));
+        }
+
+        return new DisplayName(name, nickname, nameColour, prefix, suffix, component,
+            miniMessage.toString(), legacyText.toString(), plainText.toString(),
+            formattedName, formattedNameLegacy);
+    }
+
+    // ===== EVICTION =====
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPrefixChange(@NotNull PrefixChangeEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSuffixChange(@NotNull SuffixChangeEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onColourChange(@NotNull ColourChangeEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onNicknameChange(@NotNull NicknameChangeEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        invalidate(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,104 @@
+package dev.hxrry.hxprefix.display;
+
+import net.kyori.adventure.text.Component;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * a player's built display name in every form the plugin hands out
+ *
+ * immutable - built once by {@link DisplayCache} and shared by chat,
+ * the api and placeholders until the player's customizations change
+ */
+public final class DisplayName {
+    // values this was built from
+    private final String name;
+    private final String nickname;
+    private final String nameColour;
+    private final String prefix;
+    private final String suffix;
+
+    private final Component component;
+    private final String miniMessage;
+    private final String legacy;
+    private final String plain;
+    private final String formattedName;
+    private final String formattedNameLegacy;
+
+    DisplayName(String name, String nickname, String nameColour, String prefix, String suffix,
+                @NotNull Component component, @NotNull String miniMessage, @NotNull String legacy,
+                @NotNull String plain, @NotNull String formattedName, @NotNull String formattedNameLegacy) {
+        this.name = name;
+        this.nickname = nickname;
+        this.nameColour = nameColour;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.component = component;
+        this.miniMessage = miniMessage;
+        this.legacy = legacy;
+        this.plain = plain;
+        this.formattedName = formattedName;
+        this.formattedNameLegacy = formattedNameLegacy;
+    }
+
+    /**
+     * built from exactly these values?
+     */
+    boolean matches(@NotNull String name, String nickname, String nameColour, String prefix, String suffix) {
+        return this.name.equals(name)
+            && Objects.equals(this.nickname, nickname)
+            && Objects.equals(this.nameColour, nameColour)
+            && Objects.equals(this.prefix, prefix)
+            && Objects.equals(this.suffix, suffix);
+    }
+
+    /**
+     * prefix + coloured name + suffix as a component
+     */
+    @NotNull
+    public Component component() {
+        return component;
+    }
+
+    /**
+     * prefix + coloured name + suffix in minimessage format
+     */
+    @NotNull
+    public String miniMessage() {
+        return miniMessage;
+    }
+
+    /**
+     * prefix + coloured name + suffix with legacy & codes
+     */
+    @NotNull
+    public String legacy() {
+        return legacy;
+    }
+
+    /**
+     * prefix + name + suffix with no formatting
+     */
+    @NotNull
+    public String plain() {
+        return plain;
+    }
+
+    /**
+     * coloured name (nickname or username) in minimessage format
+     */
+    @NotNull
+    public String formattedName() {
+        return formattedName;
+    }
+
+    /**
+     * coloured name (nickname or username) with legacy & codes
+     */
+    @NotNull
+    public String formattedNameLegacy() {
+        return formattedNameLegacy;
+    }
+}
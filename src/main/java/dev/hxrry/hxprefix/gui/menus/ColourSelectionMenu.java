@@ -1,6 +1,5 @@
 package dev.hxrry.hxprefix.gui.menus;
 
-import dev.hxrry.hxcore.text.Colours;
 import dev.hxrry.hxgui.HxMenu;
 import dev.hxrry.hxgui.builders.ItemBuilder;
 
@@ -29,11 +28,10 @@ public class ColourSelectionMenu {
     private final Player player;
     private final String rank;
 
-    public ColourSelectionMenu(@NotNull HxPrefix plugin, @NotNull Player player) {
+    public ColourSelectionMenu(@NotNull HxPrefix plugin, @NotNull Player player, @NotNull String rank) {
         this.plugin = plugin;
         this.player = player;
-        this.rank = plugin.getLuckPermsHook() != null ?
-            plugin.getLuckPermsHook().getPrimaryGroup(player) : "default";
+        this.rank = rank;
     }
 
     public void open() {
@@ -111,8 +109,7 @@ public class ColourSelectionMenu {
 
     private void selectColour(@NotNull Player player, @NotNull StyleOption colour) {
         if (plugin.getAPI().setNameColour(player, colour.getValue())) {
-            player.sendMessage(Colours.parse(
-                plugin.getConfigManager().getMessagesConfig().getMessage("colour.changed")));
+            player.sendMessage(plugin.getConfigManager().getMessagesConfig().getComponent("colour.changed"));
             player.closeInventory();
         } else {
             player.playSound(player, Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
@@ -122,8 +119,7 @@ public class ColourSelectionMenu {
     private void resetColour(@NotNull Player player) {
         if (plugin.getAPI().setNameColour(player, null)) {
             player.playSound(player, Sound.BLOCK_NOTE_BLOCK_BASS, 1.0f, 0.5f);
-            player.sendMessage(Colours.parse(
-                plugin.getConfigManager().getMessagesConfig().getMessage("colour.removed")));
+            player.sendMessage(plugin.getConfigManager().getMessagesConfig().getComponent("colour.removed"));
             player.closeInventory();
         } else {
             player.playSound(player, Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
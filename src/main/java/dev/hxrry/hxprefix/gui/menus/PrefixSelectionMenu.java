@@ -1,6 +1,5 @@
 package dev.hxrry.hxprefix.gui.menus;
 
-import dev.hxrry.hxcore.text.Colours;
 import dev.hxrry.hxgui.HxMenu;
 import dev.hxrry.hxgui.builders.ItemBuilder;
 
@@ -28,11 +27,10 @@ public class PrefixSelectionMenu {
     private final Player player;
     private final String rank;
     
-    public PrefixSelectionMenu(@NotNull HxPrefix plugin, @NotNull Player player) {
+    public PrefixSelectionMenu(@NotNull HxPrefix plugin, @NotNull Player player, @NotNull String rank) {
         this.plugin = plugin;
         this.player = player;
-        this.rank = plugin.getLuckPermsHook() != null ?
-            plugin.getLuckPermsHook().getPrimaryGroup(player) : "default";
+        this.rank = rank;
     }
     
     public void open() {
@@ -84,8 +82,7 @@ public class PrefixSelectionMenu {
     
     private void selectPrefix(@NotNull Player player, @NotNull StyleOption prefix) {
         if (plugin.getAPI().setPrefix(player, prefix.getValue())) {
-            player.sendMessage(Colours.parse(
-                plugin.getConfigManager().getMessagesConfig().getMessage("prefix.changed")));
+            player.sendMessage(plugin.getConfigManager().getMessagesConfig().getComponent("prefix.changed"));
             player.closeInventory();
         } else {
             player.playSound(player, Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
@@ -95,8 +92,7 @@ public class PrefixSelectionMenu {
     private void resetPrefix(@NotNull Player player) {
         if (plugin.getAPI().setPrefix(player, null)) {
             player.playSound(player, Sound.BLOCK_NOTE_BLOCK_BASS, 1.0f, 0.5f);
-            player.sendMessage(Colours.parse(
-                plugin.getConfigManager().getMessagesConfig().getMessage("prefix.removed")));
+            player.sendMessage(plugin.getConfigManager().getMessagesConfig().getComponent("prefix.removed"));
             player.closeInventory();
         } else {
             player.playSound(player, Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
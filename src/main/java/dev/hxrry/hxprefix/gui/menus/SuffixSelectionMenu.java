@@ -29,11 +29,10 @@ public class SuffixSelectionMenu {
     private final Player player;
     private final String rank;
 
-    public SuffixSelectionMenu(@NotNull HxPrefix plugin, @NotNull Player player) {
+    public SuffixSelectionMenu(@NotNull HxPrefix plugin, @NotNull Player player, @NotNull String rank) {
         this.plugin = plugin;
         this.player = player;
-        this.rank = plugin.getLuckPermsHook() != null ?
-            plugin.getLuckPermsHook().getPrimaryGroup(player) : "default";
+        this.rank = rank;
     }
 
     public void open() {
@@ -101,9 +100,8 @@ public class SuffixSelectionMenu {
 
     private void selectSuffix(@NotNull Player player, @NotNull StyleOption suffix) {
         if (plugin.getAPI().setSuffix(player, suffix.getValue())) {
-            player.sendMessage(Colours.parse(
-                plugin.getConfigManager().getMessagesConfig()
-                    .getMessage("suffix.changed", "{suffix}", Colours.strip(suffix.getValue()))));
+            player.sendMessage(plugin.getConfigManager().getMessagesConfig()
+                .getComponent("suffix.changed", "{suffix}", Colours.strip(suffix.getValue())));
             player.closeInventory();
         } else {
             player.playSound(player, Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
@@ -113,8 +111,7 @@ public class SuffixSelectionMenu {
     private void resetSuffix(@NotNull Player player) {
         if (plugin.getAPI().setSuffix(player, null)) {
             player.playSound(player, Sound.BLOCK_NOTE_BLOCK_BASS, 1.0f, 0.5f);
-            player.sendMessage(Colours.parse(
-                plugin.getConfigManager().getMessagesConfig().getMessage("suffix.removed")));
+            player.sendMessage(plugin.getConfigManager().getMessagesConfig().getComponent("suffix.removed"));
             player.closeInventory();
         } else {
             player.playSound(player, Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
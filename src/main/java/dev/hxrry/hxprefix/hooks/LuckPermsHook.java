@@ -1,10 +1,16 @@
 package dev.hxrry.hxprefix.hooks;
 
+import com.github.benmanes.caffeine.cache.Cache;
+
+import dev.hxrry.hxcore.cache.CacheManager;
 import dev.hxrry.hxcore.utils.Log;
 
 import dev.hxrry.hxprefix.HxPrefix;
 
 import net.luckperms.api.LuckPerms;
+import net.luckperms.api.event.EventBus;
+import net.luckperms.api.event.group.GroupDataRecalculateEvent;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
 import net.luckperms.api.model.group.Group;
 import net.luckperms.api.model.user.User;
 
@@ -28,12 +34,21 @@ import java.util.concurrent.CompletableFuture;
  * IMPORTANT: Call init() after construction to initialize the LuckPerms API!
  */
 public class LuckPermsHook {
-    @SuppressWarnings("unused")
     private final HxPrefix plugin;
     private LuckPerms luckPerms;
     
+    // resolved primary group per player - invalidated by luckperms, ttl as a safety net.
+    // the cache's own expiry and size bound drop players who left, the per-entry
+    // expiresAt keeps the seconds-level permission-ttl
+    private final Cache<UUID, CachedRank> ranks;
+    
     public LuckPermsHook(@NotNull HxPrefix plugin) {
         this.plugin = plugin;
+        
+        CacheManager cacheManager = plugin.getCore().getCacheManager();
+        int ttlMinutes = Math.max(1, (plugin.getConfigManager().getPermissionCacheTTL() + 59) / 60);
+        this.ranks = cacheManager.createSimpleCache("luckperms-ranks", ttlMinutes,
+            plugin.getConfigManager().getCacheMaxSize());
         // NOTE: init() must be called after construction!
         // We don't call it here to allow proper error handling in setupHooks()
     }
@@ -50,6 +65,7 @@ public class LuckPermsHook {
             
             if (provider != null) {
                 luckPerms = provider.getProvider();
+                subscribeEvents();
                 Log.info("Hooked into LuckPerms v" + getVersion());
                 return true;
             }
@@ -62,6 +78,27 @@ public class LuckPermsHook {
         return false;
     }
     
+    /**
+     * Drop cached ranks when luckperms recalculates user or group data
+     */
+    private void subscribeEvents() {
+        EventBus eventBus = luckPerms.getEventBus();
+        
+        eventBus.subscribe(plugin, UserDataRecalculateEvent.class,
+            event -> invalidateRank(event.getUser().getUniqueId()));
+        
+        // group changes can move anyone, and they're rare - start over
+        eventBus.subscribe(plugin, GroupDataRecalculateEvent.class,
+            event -> ranks.invalidateAll());
+    }
+    
+    /**
+     * Drop a player's cached rank
+     */
+    public void invalidateRank(@NotNull UUID uuid) {
+        ranks.invalidate(uuid);
+    }
+    
     /**
      * Get a player's primary group
      */
@@ -71,7 +108,11 @@ public class LuckPermsHook {
     }
     
     /**
-     * Get a player's primary group by UUID
+     * Get a player's primary group by UUID without blocking
+     * 
+     * Served from the rank cache or the loaded luckperms user. If neither
+     * is available a background load is started and "default" returned
+     * for now - use getPrimaryGroupAsync when the real rank matters
      */
     @NotNull
     public String getPrimaryGroup(@NotNull UUID uuid) {
@@ -79,16 +120,66 @@ public class LuckPermsHook {
             return "default";
         }
         
+        CachedRank cached = ranks.getIfPresent(uuid);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            return cached.rank;
+        }
+        
+        User user = luckPerms.getUserManager().getUser(uuid);
+        if (user != null) {
+            return cacheRank(uuid, resolvePrimaryGroup(user));
+        }
+        
+        // not loaded - fill the cache in the background
+        getPrimaryGroupAsync(uuid);
+        return "default";
+    }
+    
+    /**
+     * Get a player's primary group, loading the luckperms user if needed
+     * 
+     * @return future completed with the rank, already complete when it's cached or loaded
+     */
+    @NotNull
+    public CompletableFuture<String> getPrimaryGroupAsync(@NotNull UUID uuid) {
+        if (luckPerms == null) {
+            return CompletableFuture.completedFuture("default");
+        }
+        
+        CachedRank cached = ranks.getIfPresent(uuid);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            return CompletableFuture.completedFuture(cached.rank);
+        }
+        
+        User user = luckPerms.getUserManager().getUser(uuid);
+        if (user != null) {
+            return CompletableFuture.completedFuture(cacheRank(uuid, resolvePrimaryGroup(user)));
+        }
+        
+        return luckPerms.getUserManager().loadUser(uuid)
+            .thenApply(loaded -> cacheRank(uuid, resolvePrimaryGroup(loaded)))
+            .exceptionally(e -> {
+                Log.warning("Failed to load LuckPerms user " + uuid + ", using default rank: " + e.getMessage());
+                return "default";
+            });
+    }
+    
+    /**
+     * Remember a resolved rank for the configured ttl
+     */
+    @NotNull
+    private String cacheRank(@NotNull UUID uuid, @NotNull String rank) {
+        long ttl = plugin.getConfigManager().getPermissionCacheTTL() * 1000L;
+        ranks.put(uuid, new CachedRank(rank, System.currentTimeMillis() + ttl));
+        return rank;
+    }
+    
+    /**
+     * Work out a loaded user's primary group
+     */
+    @NotNull
+    private String resolvePrimaryGroup(@NotNull User user) {
         try {
-            User user = luckPerms.getUserManager().getUser(uuid);
-            if (user == null) {
-                // User not loaded, try to load
-                user = loadUser(uuid);
-                if (user == null) {
-                    return "default";
-                }
-            }
-            
             // Get primary group
             String primaryGroup = user.getPrimaryGroup();
             
@@ -108,7 +199,7 @@ public class LuckPermsHook {
             }
             
         } catch (Exception e) {
-            Log.debug("Failed to get primary group for " + uuid + ": " + e.getMessage());
+            Log.debug("Failed to get primary group for " + user.getUniqueId() + ": " + e.getMessage());
         }
         
         return "default";
@@ -245,20 +336,6 @@ public class LuckPermsHook {
             });
     }
     
-    /**
-     * Load user synchronously
-     */
-    @Nullable
-    private User loadUser(@NotNull UUID uuid) {
-        try {
-            CompletableFuture<User> future = luckPerms.getUserManager().loadUser(uuid);
-            return future.join(); // Block until loaded
-        } catch (Exception e) {
-            Log.debug("Failed to load user " + uuid + ": " + e.getMessage());
-            return null;
-        }
-    }
-    
     /**
      * Get LuckPerms version
      */
@@ -286,6 +363,11 @@ public class LuckPermsHook {
         return luckPerms != null;
     }
     
+    /**
+     * A resolved rank and when to stop trusting it
+     */
+    private record CachedRank(@NotNull String rank, long expiresAt) {}
+    
     /**
      * Strip colour codes from text
      */
@@ -17,7 +17,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 /**
  * PlaceholderAPI expansion for HxPrefix
@@ -28,6 +31,10 @@ import java.util.concurrent.ConcurrentHashMap;
  * _stripped suffix returns plain text with no formatting
  */
 public class PlaceholderAPIHook extends PlaceholderExpansion {
+    private static final Pattern LEGACY_AMPERSAND = Pattern.compile("&[0-9a-fk-or]");
+    private static final Pattern LEGACY_SECTION = Pattern.compile("§[0-9a-fk-or]");
+    private static final Pattern MINIMESSAGE_TAG = Pattern.compile("<[^>]+>");
+    
     private final HxPrefix plugin;
     private final MiniMessage mm = MiniMessage.miniMessage();
     private final LegacyComponentSerializer legacy = LegacyComponentSerializer.legacyAmpersand();
@@ -35,6 +42,9 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
     // Thread-safe handler map
     private final Map<String, PlaceholderHandler> handlers = new ConcurrentHashMap<>();
     
+    // Pre-rendered legacy/stripped output per player
+    private final Map<UUID, RenderedOutput> rendered = new ConcurrentHashMap<>();
+    
     public PlaceholderAPIHook(@NotNull HxPrefix plugin) {
         this.plugin = plugin;
         registerHandlers();
@@ -58,24 +68,21 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
         // ===== LEGACY FORMAT =====
         handlers.put("prefix_legacy", (player, data) -> {
             if (data != null && data.getPrefix() != null) {
-                Component component = mm.deserialize(data.getPrefix());
-                return legacy.serialize(component);
+                return render(player, data, "prefix_legacy");
             }
             return "";
         });
         
         handlers.put("suffix_legacy", (player, data) -> {
             if (data != null && data.getSuffix() != null) {
-                Component component = mm.deserialize(data.getSuffix());
-                return legacy.serialize(component);
+                return render(player, data, "suffix_legacy");
             }
             return "";
         });
         
         handlers.put("colour_legacy", (player, data) -> {
             if (data != null && data.getNameColour() != null) {
-                Component component = mm.deserialize(data.getNameColour());
-                return legacy.serialize(component);
+                return render(player, data, "colour_legacy");
             }
             return "";
         });
@@ -84,27 +91,21 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
         // ===== STRIPPED FORMAT =====
         handlers.put("prefix_stripped", (player, data) -> {
             if (data != null && data.getPrefix() != null) {
-                Component component = mm.deserialize(data.getPrefix());
-                String legacyText = legacy.serialize(component);
-                return stripColours(legacyText);
+                return render(player, data, "prefix_stripped");
             }
             return "";
         });
         
         handlers.put("suffix_stripped", (player, data) -> {
             if (data != null && data.getSuffix() != null) {
-                Component component = mm.deserialize(data.getSuffix());
-                String legacyText = legacy.serialize(component);
-                return stripColours(legacyText);
+                return render(player, data, "suffix_stripped");
             }
             return "";
         });
         
         handlers.put("colour_stripped", (player, data) -> {
             if (data != null && data.getNameColour() != null) {
-                Component component = mm.deserialize(data.getNameColour());
-                String legacyText = legacy.serialize(component);
-                return stripColours(legacyText);
+                return render(player, data, "colour_stripped");
             }
             return "";
         });
@@ -126,99 +127,27 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
             return player.getName();
         });
         
-        handlers.put("formatted_name", (player, data) -> {
-            String name = player.getName();
-            if (data != null && data.getNickname() != null) {
-                name = data.getNickname();
-            }
-            
-            if (data != null && data.getNameColour() != null) {
-                return plugin.getConfigManager().getStyleConfig()
-                    .formatWithColour(data.getNameColour(), name);
-            }
-            return name;
-        });
+        handlers.put("formatted_name", (player, data) ->
+            plugin.getDisplayCache().get(player, data).formattedName());
         handlers.put("fname", handlers.get("formatted_name")); // Alias
         
-        handlers.put("formatted_name_legacy", (player, data) -> {
-            String name = player.getName();
-            if (data != null && data.getNickname() != null) {
-                name = data.getNickname();
-            }
-            
-            if (data != null && data.getNameColour() != null) {
-                String formatted = plugin.getConfigManager().getStyleConfig()
-                    .formatWithColour(data.getNameColour(), name);
-                Component component = mm.deserialize(formatted);
-                return legacy.serialize(component);
-            }
-            return name;
-        });
+        handlers.put("formatted_name_legacy", (player, data) ->
+            plugin.getDisplayCache().get(player, data).formattedNameLegacy());
         handlers.put("fname_legacy", handlers.get("formatted_name_legacy")); // Alias
         
         // ===== FULL DISPLAY =====
-        handlers.put("display", (player, data) -> {
-            StringBuilder display = new StringBuilder();
-            
-            if (data != null) {
-                if (data.getPrefix() != null) {
-                    display.append(data.getPrefix()).append(" ");
-                }
-                
-                String name = data.getNickname() != null ? 
-                    data.getNickname() : player.getName();
-                
-                if (data.getNameColour() != null) {
-                    display.append(plugin.getConfigManager().getStyleConfig()
-                        .formatWithColour(data.getNameColour(), name));
-                } else {
-                    display.append(name);
-                }
-                
-                if (data.getSuffix() != null) {
-                    display.append(" ").append(data.getSuffix());
-                }
-            } else {
-                display.append(player.getName());
-            }
-            
-            return display.toString();
-        });
+        handlers.put("display", (player, data) ->
+            plugin.getDisplayCache().get(player, data).miniMessage());
         handlers.put("full", handlers.get("display")); // Alias
         
-        handlers.put("display_legacy", (player, data) -> {
-            StringBuilder display = new StringBuilder();
-            
-            if (data != null) {
-                if (data.getPrefix() != null) {
-                    Component prefix = mm.deserialize(data.getPrefix());
-                    display.append(legacy.serialize(prefix)).append(" ");
-                }
-                
-                String name = data.getNickname() != null ? 
-                    data.getNickname() : player.getName();
-                
-                if (data.getNameColour() != null) {
-                    String formatted = plugin.getConfigManager().getStyleConfig()
-                        .formatWithColour(data.getNameColour(), name);
-                    Component colored = mm.deserialize(formatted);
-                    display.append(legacy.serialize(colored));
-                } else {
-                    display.append(name);
-                }
-                
-                if (data.getSuffix() != null) {
-                    Component suffix = mm.deserialize(data.getSuffix());
-                    display.append(" ").append(legacy.serialize(suffix));
-                }
-            } else {
-                display.append(player.getName());
-            }
-            
-            return display.toString();
-        });
+        handlers.put("display_legacy", (player, data) ->
+            plugin.getDisplayCache().get(player, data).legacy());
         handlers.put("full_legacy", handlers.get("display_legacy")); // Alias
         
+        handlers.put("display_stripped", (player, data) ->
+            plugin.getDisplayCache().get(player, data).plain());
+        handlers.put("full_stripped", handlers.get("display_stripped")); // Alias
+        
         // ===== STATUS PLACEHOLDERS =====
         handlers.put("has_prefix", (player, data) -> 
             String.valueOf(data != null && data.getPrefix() != null));
@@ -307,12 +236,85 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
             return "";
         }
         
-        // Get player data from cache
-        PlayerCustomization data = plugin.getDataCache().getPlayerData(player.getUniqueId());
-        
-        // Find and execute handler
+        // Find handler
         PlaceholderHandler handler = handlers.get(params.toLowerCase());
-        return handler != null ? handler.handle(player, data) : null;
+        if (handler == null) {
+            return null;
+        }
+        
+        // Get player data from memory only - a miss schedules an async load
+        PlayerCustomization data = plugin.getDataCache().getPlayerDataNonBlocking(player.getUniqueId());
+        if (data == null) {
+            String fallback = plugin.getConfigManager().getPlaceholderFallback();
+            if (fallback != null) {
+                return fallback;
+            }
+        }
+        
+        return handler.handle(player, data);
+    }
+    
+    /**
+     * Drop a player's pre-rendered output
+     * Called when their customization changes or they leave
+     */
+    public void invalidate(@NotNull UUID uuid) {
+        rendered.remove(uuid);
+    }
+    
+    /**
+     * Drop every player's pre-rendered output
+     */
+    public void invalidateAll() {
+        rendered.clear();
+    }
+    
+    /**
+     * Get pre-rendered output for a placeholder, rendering it on first use
+     * Entries are rebuilt whenever the values they were rendered from change
+     */
+    @NotNull
+    private String render(@NotNull Player player, @NotNull PlayerCustomization data, @NotNull String key) {
+        RenderedOutput output = rendered.get(player.getUniqueId());
+        if (output == null || !output.matches(data)) {
+            output = new RenderedOutput(data);
+            rendered.put(player.getUniqueId(), output);
+        }
+        
+        String value = output.values.get(key);
+        if (value == null) {
+            value = renderValue(key, output);
+            output.values.put(key, value);
+        }
+        return value;
+    }
+    
+    /**
+     * Render a legacy/stripped placeholder value from its source values
+     */
+    @NotNull
+    private String renderValue(@NotNull String key, @NotNull RenderedOutput output) {
+        return switch (key) {
+            case "prefix_legacy" -> toLegacy(output.prefix);
+            case "suffix_legacy" -> toLegacy(output.suffix);
+            case "colour_legacy" -> toLegacy(output.nameColour);
+            case "prefix_stripped" -> stripColours(toLegacy(output.prefix));
+            case "suffix_stripped" -> stripColours(toLegacy(output.suffix));
+            case "colour_stripped" -> stripColours(toLegacy(output.nameColour));
+            default -> "";
+        };
+    }
+    
+    /**
+     * Convert MiniMessage text to legacy & format
+     */
+    @NotNull
+    private String toLegacy(@Nullable String miniMessage) {
+        if (miniMessage == null) {
+            return "";
+        }
+        Component component = mm.deserialize(miniMessage);
+        return legacy.serialize(component);
     }
     
     /**
@@ -332,10 +334,10 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
      */
     private String stripColours(@NotNull String input) {
         // Strip legacy codes
-        String stripped = input.replaceAll("&[0-9a-fk-or]", "");
-        stripped = stripped.replaceAll("§[0-9a-fk-or]", "");
+        String stripped = LEGACY_AMPERSAND.matcher(input).replaceAll("");
+        stripped = LEGACY_SECTION.matcher(stripped).replaceAll("");
         // Strip minimessage tags
-        stripped = stripped.replaceAll("<[^>]+>", "");
+        stripped = MINIMESSAGE_TAG.matcher(stripped).replaceAll("");
         return stripped.trim();
     }
     
@@ -362,6 +364,7 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
         Log.info("  %hxprefix_prefix_stripped% - prefix without colors");
         Log.info("  %hxprefix_suffix_stripped% - suffix without colors");
         Log.info("  %hxprefix_colour_stripped% - colour code stripped");
+        Log.info("  %hxprefix_display_stripped% - full display without colors");
         Log.info("");
         Log.info("  === OTHER PLACEHOLDERS ===");
         Log.info("  %hxprefix_nickname% - player's nickname");
@@ -373,6 +376,28 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
         Log.info("  %hxprefix_has_nickname% - true/false");
     }
     
+    /**
+     * Rendered output for one player, keyed on the values it was rendered from
+     */
+    private static final class RenderedOutput {
+        private final String prefix;
+        private final String suffix;
+        private final String nameColour;
+        private final Map<String, String> values = new ConcurrentHashMap<>();
+        
+        private RenderedOutput(@NotNull PlayerCustomization data) {
+            this.prefix = data.getPrefix();
+            this.suffix = data.getSuffix();
+            this.nameColour = data.getNameColour();
+        }
+        
+        private boolean matches(@NotNull PlayerCustomization data) {
+            return Objects.equals(prefix, data.getPrefix()) &&
+                   Objects.equals(suffix, data.getSuffix()) &&
+                   Objects.equals(nameColour, data.getNameColour());
+        }
+    }
+    
     /**
      * Functional interface for placeholder handlers
      */
@@ -4,32 +4,35 @@ import dev.hxrry.hxcore.utils.Log;
 
 import dev.hxrry.hxprefix.HxPrefix;
 import dev.hxrry.hxprefix.api.models.PlayerCustomization;
+import dev.hxrry.hxprefix.config.ChatFormat;
 
+import io.papermc.paper.chat.ChatRenderer;
 import io.papermc.paper.event.player.AsyncChatEvent;
 
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.TextReplacementConfig;
-import net.kyori.adventure.text.format.NamedTextColor;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * main player event listener
  */
 public class PlayerListener implements Listener {
     private final HxPrefix plugin;
-    private final MiniMessage mm = MiniMessage.miniMessage();
     @SuppressWarnings("unused")
     private final PlainTextComponentSerializer plain = PlainTextComponentSerializer.plainText();
     
@@ -37,6 +40,38 @@ public class PlayerListener implements Listener {
         this.plugin = plugin;
     }
     
+    /**
+     * load player data and luckperms user before the player joins
+     * 
+     * runs off the main thread, so we can wait here and have the cache warm by join
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(@NotNull AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        
+        UUID uuid = event.getUniqueId();
+        
+        // both loads run in parallel
+        CompletableFuture<PlayerCustomization> data = plugin.getDataCache().prefetchPlayer(uuid, event.getName());
+        CompletableFuture<Void> permissions = plugin.getLuckPermsHook() != null
+            ? plugin.getLuckPermsHook().reloadUser(uuid)
+            : CompletableFuture.completedFuture(null);
+        
+        long timeout = plugin.getConfigManager().getPrefetchTimeout();
+        try {
+            CompletableFuture.allOf(data, permissions).get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // don't hold the login hostage to a slow database - join will pick it up
+            Log.warning("Timed out prefetching data for " + event.getName() + " after " + timeout + "ms");
+        } catch (ExecutionException e) {
+            Log.error("Failed to prefetch data for " + event.getName(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
     /**
      * handle player join
      */
@@ -44,23 +79,18 @@ public class PlayerListener implements Listener {
     public void onPlayerJoin(@NotNull PlayerJoinEvent event) {
         Player player = event.getPlayer();
         
-        // load player data async
-        CompletableFuture.runAsync(() -> {
-            PlayerCustomization data = plugin.getDataCache().getOrCreatePlayerData(player.getUniqueId());
-            
+        // already cached by pre-login, unless the prefetch timed out
+        plugin.getDataCache().prefetchPlayer(player.getUniqueId(), player.getName()).thenAccept(data -> {
             // update username if changed
             if (!player.getName().equals(data.getUsername())) {
-                data.setUsername(player.getName());
-                plugin.getDataCache().savePlayerData(data);
+                plugin.getDataCache().updatePlayerData(player.getUniqueId(), current -> current.withUsername(player.getName()));
                 Log.debug("updated username for " + player.getUniqueId() + " to " + player.getName());
             }
-            
+        }).exceptionally(e -> {
+            // nothing was cached, the next lookup loads again
+            Log.error("Failed to load data for " + player.getName(), e);
+            return null;
         });
-        
-        // reload luckperms data if needed
-        if (plugin.getLuckPermsHook() != null) {
-            plugin.getLuckPermsHook().reloadUser(player.getUniqueId());
-        }
     }
     
     /**
@@ -70,12 +100,21 @@ public class PlayerListener implements Listener {
     public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
         Player player = event.getPlayer();
         
-        // save player data
+        // save player data if anything changed since it was last written
         PlayerCustomization data = plugin.getDataCache().getPlayerData(player.getUniqueId());
-        if (data != null && data.hasCustomizations()) {
+        if (data != null && data.isDirty()) {
             plugin.getDataCache().savePlayerData(data);
         }
-
+        
+        // drop cached rank
+        if (plugin.getLuckPermsHook() != null) {
+            plugin.getLuckPermsHook().invalidateRank(player.getUniqueId());
+        }
+        
+        // drop pre-rendered placeholder output
+        if (plugin.getPlaceholderHook() != null) {
+            plugin.getPlaceholderHook().invalidate(player.getUniqueId());
+        }
     }
     
     /**
@@ -86,7 +125,7 @@ public class PlayerListener implements Listener {
         Player player = event.getPlayer();
         
         // check if chat formatting is enabled
-        if (!plugin.getConfigManager().getMainConfig().getBoolean("chat.format-enabled", true)) {
+        if (!plugin.getConfigManager().isChatFormatEnabled()) {
             return;
         }
         
@@ -96,64 +135,11 @@ public class PlayerListener implements Listener {
             return;
         }
         
-        // build display name
-        Component displayName = buildDisplayName(player, data);
+        Component displayName = plugin.getDisplayCache().get(player, data).component();
+        ChatFormat format = plugin.getConfigManager().getChatFormat();
         
-        // update the renderer
-        event.renderer((source, sourceDisplayName, message, viewer) -> {
-            // build chat format
-            Component format = mm.deserialize(
-                plugin.getConfigManager().getMainConfig()
-                    .getString("chat.format", "{displayname} <gray>» <white>{message}")
-            );
-            
-            // replace placeholders
-            format = format.replaceText(TextReplacementConfig.builder()
-                .matchLiteral("{displayname}")
-                .replacement(displayName)
-                .build());
-            
-            format = format.replaceText(TextReplacementConfig.builder()
-                .matchLiteral("{message}")
-                .replacement(message)
-                .build());
-            
-            return format;
-        });
+        // the line looks the same to everyone, so render it once and share it across viewers
+        event.renderer(ChatRenderer.viewerUnaware((source, sourceDisplayName, message) ->
+            format.render(displayName, message)));
     }
-    
-    /**
-     * build display name for a player
-     */
-    @NotNull
-    private Component buildDisplayName(@NotNull Player player, @NotNull PlayerCustomization data) {
-        Component displayName = Component.empty();
-        
-        // add prefix
-        if (data.getPrefix() != null) {
-            displayName = displayName.append(mm.deserialize(data.getPrefix()))
-                .append(Component.space());
-        }
-        
-        // add name with colour
-        String name = data.getNickname() != null ? data.getNickname() : player.getName();
-        
-        if (data.getNameColour() != null) {
-            String coloured = plugin.getConfigManager().getStyleConfig()
-                .formatWithColour(data.getNameColour(), name);
-            displayName = displayName.append(mm.deserialize(coloured));
-        } else {
-            displayName = displayName.append(Component.text(name, NamedTextColor.WHITE));
-        }
-        
-        // add suffix
-        if (data.getSuffix() != null) {
-            displayName = displayName.append(Component.space())
-                .append(mm.deserialize(data.getSuffix()));
-        }
-        
-        return displayName;
-    }
-    
-    
 }
\ No newline at end of file
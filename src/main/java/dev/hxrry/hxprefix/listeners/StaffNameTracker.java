@@ -0,0 +1,57 @@
+package dev.hxrry.hxprefix.listeners;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * lowercased names of online staff, so nicknames can't impersonate them
+ *
+ * kept up to date on join and quit rather than checking every online
+ * player's permissions each time a nickname is set
+ */
+public class StaffNameTracker implements Listener {
+    private static final String STAFF_PERMISSION = "hxprefix.staff";
+
+    private final Set<String> staffNames = ConcurrentHashMap.newKeySet();
+
+    public StaffNameTracker() {
+        // pick up anyone already online (plugin reloads)
+        for (Player online : Bukkit.getOnlinePlayers()) {
+            track(online);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(@NotNull PlayerJoinEvent event) {
+        track(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        staffNames.remove(event.getPlayer().getName().toLowerCase(Locale.ROOT));
+    }
+
+    private void track(@NotNull Player player) {
+        if (player.hasPermission(STAFF_PERMISSION)) {
+            staffNames.add(player.getName().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * check if a name matches an online staff member, ignoring case
+     */
+    public boolean isStaffName(@NotNull String name) {
+        return staffNames.contains(name.toLowerCase(Locale.ROOT));
+    }
+}
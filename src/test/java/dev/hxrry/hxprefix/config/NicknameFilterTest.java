@@ -0,0 +1,74 @@
+package dev.hxrry.hxprefix.config;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NicknameFilterTest {
+    // the defaults shipped in config.yml
+    private static final List<String> BLOCKED =
+        List.of("admin", "owner", "staff", "moderator", "notch", "server", "console");
+
+    @Test
+    void ordinaryNamesContainingTermsAreAllowed() {
+        NicknameFilter filter = filter(null);
+
+        assertFalse(filter.isBlocked("Observer"));
+        assertFalse(filter.isBlocked("Downer"));
+        assertFalse(filter.isBlocked("Staffordshire"));
+        assertFalse(filter.isBlocked("Badminton"));
+    }
+
+    @Test
+    void blockedNamesAreCaughtWhateverTheSpelling() {
+        NicknameFilter filter = filter(null);
+
+        assertTrue(filter.isBlocked("Admin"));
+        assertTrue(filter.isBlocked("4dm1n"));
+        assertTrue(filter.isBlocked("a_d_m_i_n"));
+        assertTrue(filter.isBlocked("OWNER"));
+        assertTrue(filter.isBlocked("5erver"));
+    }
+
+    @Test
+    void containsModeBlocksTermsInsideNames() {
+        NicknameFilter filter = filter("contains");
+
+        assertTrue(filter.isBlocked("Observer"));
+        assertTrue(filter.isBlocked("xXAdminXx"));
+        assertFalse(filter.isBlocked("Steve"));
+    }
+
+    @Test
+    void unknownModeFallsBackToExact() {
+        NicknameFilter filter = filter("sometimes");
+
+        assertFalse(filter.isBlocked("Observer"));
+        assertTrue(filter.isBlocked("server"));
+    }
+
+    @Test
+    void legacyBlockedKeyIsStillRead() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("nickname.blocked", List.of("admin"));
+
+        NicknameFilter filter = NicknameFilter.compile(config);
+        assertEquals(1, filter.getBlockedTermCount());
+        assertTrue(filter.isBlocked("admin"));
+    }
+
+    private static NicknameFilter filter(String match) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("nickname.blocked-names", BLOCKED);
+        if (match != null) {
+            config.set("nickname.blocked-match", match);
+        }
+        return NicknameFilter.compile(config);
+    }
+}
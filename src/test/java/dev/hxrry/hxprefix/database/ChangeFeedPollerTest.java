@@ -0,0 +1,120 @@
+package dev.hxrry.hxprefix.database;
+
+import dev.hxrry.hxprefix.api.models.PlayerCustomization;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChangeFeedPollerTest {
+    private static final long OVERLAP_MS = 10_000;
+
+    // rows as the database holds them, queried the way SELECT_UPDATED_SINCE_SQL does
+    private final List<PlayerCustomization> table = new ArrayList<>();
+
+    private DatabaseManager database;
+    private DataCache cache;
+    private ChangeFeedPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        database = mock(DatabaseManager.class);
+        cache = mock(DataCache.class);
+        when(database.loadPlayersUpdatedSince(anyLong(), any(), anyInt())).thenAnswer(call ->
+            updatedSince(call.getArgument(0), call.getArgument(1), call.getArgument(2)));
+
+        // an hour between ticks - the test drives every poll itself
+        poller = new ChangeFeedPoller(database, cache, Runnable::run, 3_600_000, 500, OVERLAP_MS);
+        poller.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        poller.shutdown();
+    }
+
+    @Test
+    void rowCommittedLateWithOlderTimestampIsRead() {
+        long now = System.currentTimeMillis();
+
+        PlayerCustomization first = row(now + 100);
+        table.add(first);
+        poller.poll();
+        verify(cache).refreshIfNewer(first);
+
+        // edited before the first row but only flushed now, e.g. after a retry
+        PlayerCustomization late = row(now + 50);
+        table.add(late);
+        poller.poll();
+        verify(cache).refreshIfNewer(late);
+    }
+
+    @Test
+    void rowFromSkewedClockBehindStartIsRead() {
+        // another server's clock runs a few seconds slow
+        PlayerCustomization skewed = row(System.currentTimeMillis() - 3_000);
+        table.add(skewed);
+
+        poller.poll();
+        verify(cache).refreshIfNewer(skewed);
+    }
+
+    @Test
+    void rowsOlderThanOverlapAreNotRead() {
+        PlayerCustomization old = row(System.currentTimeMillis() - OVERLAP_MS - 60_000);
+        table.add(old);
+
+        poller.poll();
+        verify(cache, never()).refreshIfNewer(old);
+        assertEquals(0, poller.getRowsRead());
+    }
+
+    @Test
+    void rowsSharingMillisecondArePagedOnce() {
+        poller.shutdown();
+        poller = new ChangeFeedPoller(database, cache, Runnable::run, 3_600_000, 2, OVERLAP_MS);
+        poller.start();
+
+        long at = System.currentTimeMillis() + 100;
+        for (int i = 0; i < 5; i++) {
+            table.add(row(at));
+        }
+
+        poller.poll();
+        for (PlayerCustomization row : table) {
+            verify(cache).refreshIfNewer(row);
+        }
+        assertEquals(5, poller.getRowsRead());
+    }
+
+    private List<PlayerCustomization> updatedSince(long since, UUID after, int limit) {
+        // binary uuids compare byte by byte, the same order as their hex strings
+        String afterKey = after != null ? after.toString() : "";
+        return table.stream()
+            .filter(row -> row.getLastUpdated() >= since &&
+                (row.getLastUpdated() > since || row.getUuid().toString().compareTo(afterKey) > 0))
+            .sorted(Comparator.comparingLong(PlayerCustomization::getLastUpdated)
+                .thenComparing(row -> row.getUuid().toString()))
+            .limit(limit)
+            .toList();
+    }
+
+    private static PlayerCustomization row(long lastUpdated) {
+        UUID uuid = UUID.randomUUID();
+        return new PlayerCustomization(uuid, "player", null, null, "[p]", null, null, lastUpdated, 0);
+    }
+}
@@ -0,0 +1,165 @@
+package dev.hxrry.hxprefix.database;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import dev.hxrry.hxcore.HxCore;
+import dev.hxrry.hxcore.cache.CacheManager;
+
+import dev.hxrry.hxprefix.HxPrefix;
+import dev.hxrry.hxprefix.api.models.PlayerCustomization;
+import dev.hxrry.hxprefix.config.ConfigManager;
+import dev.hxrry.hxprefix.database.sync.LoopbackInvalidationChannel;
+
+import org.bukkit.Bukkit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+class DataCacheTest {
+    private final UUID uuid = UUID.randomUUID();
+    private final List<DataCache> caches = new ArrayList<>();
+
+    private DatabaseManager database;
+    private MockedStatic<Bukkit> bukkit;
+
+    // entries of the cache newCache built last
+    private Cache<Object, Object> entries;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // one database shared by every cache, like servers on one network
+        database = mock(DatabaseManager.class);
+        when(database.loadPlayerData(uuid)).thenReturn(
+            new PlayerCustomization(uuid, "player", null, null, "[old]", null, null, 1_000L, 0));
+        when(database.savePlayerDataBatch(any())).thenAnswer(call ->
+            new DatabaseManager.SaveResult(call.getArgument(0), List.of()));
+
+        // nobody online - flushes run on this thread, so the static mock applies to them
+        bukkit = mockStatic(Bukkit.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        caches.forEach(DataCache::cleanup);
+        bukkit.close();
+    }
+
+    @Test
+    void saveOnOneServerEvictsCleanCopyOnAnother() {
+        LoopbackInvalidationChannel.Hub hub = new LoopbackInvalidationChannel.Hub();
+        DataCache first = newCache(hub);
+        DataCache second = newCache(hub);
+        assertEquals(2, hub.size());
+
+        second.getPlayerData(uuid);
+        assertTrue(second.isCached(uuid));
+
+        first.updatePlayerData(uuid, data -> data.withPrefix("[new]"));
+        first.saveAll();
+
+        assertFalse(second.isCached(uuid));
+        // the sender doesn't hear its own message
+        assertTrue(first.isCached(uuid));
+        assertFalse(first.getPlayerData(uuid).isDirty());
+    }
+
+    @Test
+    void remoteSaveKeepsUnwrittenLocalChanges() {
+        LoopbackInvalidationChannel.Hub hub = new LoopbackInvalidationChannel.Hub();
+        DataCache first = newCache(hub);
+        DataCache second = newCache(hub);
+
+        // edited here but not flushed yet
+        second.updatePlayerData(uuid, data -> data.withSuffix("[mine]"));
+
+        first.updatePlayerData(uuid, data -> data.withPrefix("[new]"));
+        first.saveAll();
+
+        assertTrue(second.isCached(uuid));
+        assertEquals("[mine]", second.getPlayerData(uuid).getSuffix());
+    }
+
+    @Test
+    void closedChannelLeavesHub() {
+        LoopbackInvalidationChannel.Hub hub = new LoopbackInvalidationChannel.Hub();
+        DataCache cache = newCache(hub);
+        assertEquals(1, hub.size());
+
+        cache.setInvalidationChannel(null);
+        assertEquals(0, hub.size());
+    }
+
+    @Test
+    void rejectedNicknameAfterEvictionStillWritesOtherChanges() {
+        DataCache cache = newCache(new LoopbackInvalidationChannel.Hub());
+
+        List<List<PlayerCustomization>> batches = new ArrayList<>();
+        doAnswer(call -> {
+            List<PlayerCustomization> rows = List.copyOf(call.getArgument(0));
+            batches.add(rows);
+            // someone else holds the nickname, so the first write is refused
+            return batches.size() == 1 ?
+                new DatabaseManager.SaveResult(List.of(), rows) :
+                new DatabaseManager.SaveResult(rows, List.of());
+        }).when(database).savePlayerDataBatch(any());
+
+        cache.updatePlayerData(uuid, data -> data.withNickname("Taken").withPrefix("[new]"));
+        // evicted between the enqueue and the rejection
+        entries.invalidate(uuid);
+        cache.getWriteQueue().flush();
+
+        assertEquals(2, batches.size());
+        PlayerCustomization retried = batches.get(1).get(0);
+        assertEquals(uuid, retried.getUuid());
+        assertEquals("[new]", retried.getPrefix());
+        assertNull(retried.getNickname());
+        assertEquals(0, retried.getDirtyFields() & PlayerCustomization.DIRTY_NICKNAME);
+        assertNotEquals(0, retried.getDirtyFields() & PlayerCustomization.DIRTY_PREFIX);
+    }
+
+    /**
+     * a cache wired to mocks - flushes only happen when a test asks for them
+     */
+    private DataCache newCache(LoopbackInvalidationChannel.Hub hub) {
+        Cache<Object, Object> entries = Caffeine.newBuilder().recordStats().build();
+        this.entries = entries;
+        CacheManager cacheManager = mock(CacheManager.class, call ->
+            call.getMethod().getReturnType() == Cache.class ? entries : RETURNS_DEFAULTS.answer(call));
+        HxCore core = mock(HxCore.class);
+        when(core.getCacheManager()).thenReturn(cacheManager);
+
+        ConfigManager config = mock(ConfigManager.class);
+        when(config.getIoThreads()).thenReturn(2);
+        when(config.getIoQueueSize()).thenReturn(100);
+        when(config.getWriteBatchSize()).thenReturn(100);
+        when(config.getWriteFlushInterval()).thenReturn(3_600_000L);
+
+        HxPrefix plugin = mock(HxPrefix.class);
+        when(plugin.getCore()).thenReturn(core);
+        when(plugin.getConfigManager()).thenReturn(config);
+
+        DataCache cache = new DataCache(plugin, database);
+        cache.setInvalidationChannel(new LoopbackInvalidationChannel(hub));
+        caches.add(cache);
+        return cache;
+    }
+}
@@ -0,0 +1,41 @@
+package dev.hxrry.hxprefix.database;
+
+import dev.hxrry.hxprefix.api.models.PlayerCustomization;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WriteBehindQueueTest {
+
+    @Test
+    void uncheckedFailureIsRetried() {
+        DatabaseManager database = mock(DatabaseManager.class);
+        when(database.savePlayerDataBatch(any()))
+            .thenThrow(new IllegalStateException("pool closed"))
+            .thenAnswer(call -> new DatabaseManager.SaveResult(call.getArgument(0), List.of()));
+
+        // never started - the test flushes by hand
+        WriteBehindQueue queue = new WriteBehindQueue(database, Runnable::run, 100, 1000);
+        PlayerCustomization data = new PlayerCustomization(UUID.randomUUID(), "player").withPrefix("[p]");
+        CompletableFuture<Boolean> future = queue.enqueue(data);
+
+        assertEquals(0, queue.flush());
+        assertFalse(future.isDone());
+        assertEquals(1, queue.getQueueDepth());
+        assertEquals(1, queue.getFailedRows());
+
+        assertEquals(1, queue.flush());
+        assertTrue(future.join());
+        assertEquals(0, queue.getQueueDepth());
+    }
+}